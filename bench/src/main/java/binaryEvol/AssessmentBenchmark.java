@@ -0,0 +1,103 @@
+package binaryEvol;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Assessment of a single solution: updateAssessment (every tier), isFeasible
+ * (the feasibility tier alone) and the default fitness function, on feasible
+ * and infeasible solutions
+ *
+ * Every invocation flips one bit first, so there is always something to assess.
+ * Feasible solutions flip the same bit off and on again, staying feasible.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssessmentBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int length;
+
+    @Param({"true", "false"})
+    boolean feasible;
+
+    @Param({"true", "false"})
+    boolean incremental;
+
+    private BinarySolution solution;
+    private FitnessFunction fitnessFunction;
+    private Random random;
+    private int toggledBit;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(BenchmarkInputs.SEED);
+        String shortString = BenchmarkInputs.randomString(random, length, BenchmarkInputs.DNA);
+        String longString;
+        if (feasible) {
+            longString = BenchmarkInputs.withInsertions(random, shortString, BenchmarkInputs.DNA);
+        } else {
+            longString = BenchmarkInputs.randomString(random, length + length / 3, BenchmarkInputs.DNA);
+        }
+        Population population = new Population(shortString, longString, 1, 0, BenchmarkInputs.SEED);
+        population.setIncrementalAssessment(incremental);
+
+        solution = new BinarySolution(length, population);
+        if (feasible) {
+            solution.flip(0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                solution.set(i, random.nextBoolean());
+            }
+        }
+        solution.updateAssessment();
+        fitnessFunction = new SimpleFuzzyFitness();
+        toggledBit = random.nextInt(length);
+    }
+
+    private void change() {
+        if (feasible) {
+            solution.flip(toggledBit);
+        } else {
+            solution.flip(random.nextInt(length));
+        }
+    }
+
+    @Benchmark
+    public int updateAssessment() {
+        change();
+        solution.updateAssessment();
+        return solution.getMatches();
+    }
+
+    @Benchmark
+    public boolean isFeasible() {
+        change();
+        return solution.isFeasible();
+    }
+
+    @Benchmark
+    public double simpleFuzzyFitness() {
+        change();
+        return fitnessFunction.getFitness(solution);
+    }
+
+}
@@ -0,0 +1,48 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Seeded inputs shared by the benchmarks, so runs are comparable
+ *
+ */
+final class BenchmarkInputs {
+
+    static final long SEED = 20160901L;
+    static final String DNA = "ACGT";
+
+    private BenchmarkInputs() {
+    }
+
+    static String randomString(Random random, int length, String alphabet) {
+        StringBuilder s = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            s.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return s.toString();
+    }
+
+    //Inserts a random character after roughly every third character of s,
+    //so s is a known subsequence of the result
+    static String withInsertions(Random random, String s, String alphabet) {
+        StringBuilder longer = new StringBuilder(s.length() + s.length() / 3 + 1);
+        for (int i = 0; i < s.length(); i++) {
+            longer.append(s.charAt(i));
+            if (random.nextInt(3) == 0) {
+                longer.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+        }
+        longer.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return longer.toString();
+    }
+
+    //A population over an unrelated pair of strings, so most solutions are infeasible
+    static Population unrelatedPopulation(int length, int size) {
+        Random random = new Random(SEED);
+        String a = randomString(random, length, DNA);
+        String b = randomString(random, length + length / 3, DNA);
+        return new Population(a, b, size, 0, SEED);
+    }
+
+}
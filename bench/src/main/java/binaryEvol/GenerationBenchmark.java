@@ -0,0 +1,55 @@
+package binaryEvol;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * Full generations, with the console runner's recommended settings
+ * The population is rebuilt from the same seed before every iteration, 
+ * so each iteration measures the same stretch of evolution
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int length;
+
+    @Param({"100", "1000"})
+    int populationSize;
+
+    @Param({"1"})
+    int threads;
+
+    private Population population;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        population = BenchmarkInputs.unrelatedPopulation(length, populationSize);
+        population.setThreads(threads);
+    }
+
+    @Benchmark
+    public Population runOneGeneration() {
+        population.runOneGeneration(populationSize / 10, 5, 0.8, 4, 0.01, 7);
+        return population;
+    }
+
+}
@@ -0,0 +1,78 @@
+package binaryEvol;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * The crossover and mutation operators in Population, without assessment
+ * Crossover is measured on one pair; mutation over the whole population
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperatorBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int length;
+
+    @Param({"100"})
+    int populationSize;
+
+    private Population population;
+    private BinarySolution a;
+    private BinarySolution b;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        population = BenchmarkInputs.unrelatedPopulation(length, populationSize);
+        a = population.getPopulation()[0];
+        b = population.getPopulation()[1];
+    }
+
+    @Benchmark
+    public BinarySolution nPointCrossover() {
+        population.nPointCrossover(a, b, 4);
+        return a;
+    }
+
+    @Benchmark
+    public BinarySolution uniformCrossover() {
+        population.uniformCrossover(a, b);
+        return a;
+    }
+
+    @Benchmark
+    public BinarySolution constantBiasUniformCrossover() {
+        population.constantBiasUniformCrossover(a, b, 0.3);
+        return a;
+    }
+
+    @Benchmark
+    public Population bitwiseRandomMutation() {
+        population.applyBitwiseRandomMutation(0.01);
+        return population;
+    }
+
+    @Benchmark
+    public Population variableLengthMutation() {
+        population.applyVariableLengthMutation(0.01, 7);
+        return population;
+    }
+
+}
@@ -0,0 +1,16 @@
+package binaryEvol;
+
+/**
+ *
+ * How much of a BinarySolution's assessment a caller needs, cheapest first
+ * CARDINALITY is a count of set bits; FEASIBILITY adds one embedding check
+ * per long string; FUZZY adds, for infeasible solutions only, fuzzy matching
+ * against each long string they do not embed in (matches and skips).
+ * A solution computes each tier only when first asked for it after a change.
+ *
+ */
+public enum AssessmentTier {
+    CARDINALITY,
+    FEASIBILITY,
+    FUZZY
+}
@@ -0,0 +1,277 @@
+package binaryEvol;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ *
+ * Runs the evolution without a console: one run per input file, each reported
+ * as a single line of JSON
+ *
+ * As with the console runner, the first two lines of each input file are the
+ * strings to be compared; more, with the strings setting.
+ *
+ * With a StatisticsSink, every generation of every island is also reported
+ * there, labelled with the input's path and the island's index.
+ *
+ * With checkpointGenerations set, the state of each run is saved every that
+ * many generations, and when it stops, to the input's path plus ".snapshot".
+ * With resume, a run whose snapshot exists carries on from it.
+ *
+ */
+public class BatchRunner {
+
+    private final RunConfiguration config;
+    private final PrintStream out;
+    private final StatisticsSink statistics;
+
+    public BatchRunner(RunConfiguration config, PrintStream out) {
+        this(config, out, null);
+    }
+
+    //statistics may be null
+    public BatchRunner(RunConfiguration config, PrintStream out, StatisticsSink statistics) {
+        this.config = config;
+        this.out = out;
+        this.statistics = statistics;
+    }
+
+    /*
+        Returns the number of inputs that failed. A failure is reported as
+        that input's result, and the batch carries on with the next input.
+        Errors such as OutOfMemoryError leave nothing to trust, so end the batch.
+     */
+    public int runAll(List<File> inputs) {
+        int failures = 0;
+        for (int i = 0; i < inputs.size(); i++) {
+            File input = inputs.get(i);
+            long seed = config.seed + i;
+            try {
+                CharSequence[] strings = readStrings(input, config.inputEncoding, config.strings);
+                out.println(run(input.getPath(), strings, seed));
+            } catch (IOException | RuntimeException e) {
+                failures++;
+                out.println("{\"input\":" + jsonString(input.getPath())
+                        + ",\"seed\":" + seed
+                        + ",\"error\":" + jsonString(errorMessage(e)) + "}");
+            }
+            out.flush();
+        }
+        return failures;
+    }
+
+    //text reads Strings; mapped and packed go through SequenceFile, as does count
+    static CharSequence[] readStrings(File input, String encoding, int count) throws IOException {
+        if (!encoding.equals("text")) {
+            return SequenceFile.read(input, count, encoding.equals("packed"));
+        }
+        List<String> strings = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(input))) {
+            while (count == 0 || strings.size() < count) {
+                String line = reader.readLine();
+                if (line == null || line.isEmpty()) {
+                    if (count == 0) {
+                        break;
+                    }
+                    throw new IllegalArgumentException("First " + count + " lines must be non-empty strings");
+                }
+                strings.add(line);
+            }
+        }
+        if (strings.size() < 2) {
+            throw new IllegalArgumentException("Input needs at least two non-empty lines");
+        }
+        return strings.toArray(new String[strings.size()]);
+    }
+
+    public String run(String name, CharSequence a, CharSequence b, long seed) throws IOException {
+        return run(name, new CharSequence[]{a, b}, seed);
+    }
+
+    /*
+        Evolves a common subsequence of the strings until a termination
+        criterion is met, or solves a pair exactly if it is within exactMaxCells
+     */
+    public String run(String name, CharSequence[] strings, long seed) throws IOException {
+        return evolve(name, new InputIndex(strings), seed).toJson();
+    }
+
+    //As run, over an input that may be shared with other runs
+    public RunResult evolve(String name, InputIndex input, long seed) throws IOException {
+        long start = System.nanoTime();
+        boolean pair = input.getLongStringCount() == 1;
+        if (pair && (long) input.getShortString().length() * input.getLongString(0).length() <= config.exactMaxCells) {
+            Population exactStrings = new Population(input, 0, 0, seed, new RandomInitializer(),
+                    RandomAlgorithm.forName(config.random));
+            BinarySolution exact = new ExactLcsSolver(exactStrings).solve();
+            return new RunResult(name, seed, exactStrings, 0, elapsedMillis(start), "exact",
+                    exact, FitnessFunction.forName(config.fitness).getFitness(exact), exact.cardinality());
+        }
+        if (config.crossoverPoints > input.getShortString().length()) {
+            throw new IllegalArgumentException("crossoverPoints exceeds the length of the shortest string");
+        }
+        File snapshotFile = new File(name + ".snapshot");
+        IslandModel model;
+        int lastImprovement = 0;
+        if (config.resume && snapshotFile.exists()) {
+            EvolutionSnapshot snapshot = EvolutionSnapshot.read(snapshotFile);
+            if (!snapshot.hasStrings(input.getStrings())) {
+                throw new IllegalArgumentException("Snapshot " + snapshotFile + " is for different strings");
+            }
+            model = new IslandModel(snapshot, config.migrants, MigrationTopology.forName(config.topology));
+            lastImprovement = Integer.parseInt(snapshot.getParameters().getProperty("lastImprovement", "0"));
+            seed = snapshot.getIslands()[0].getSeed(); //Reported as the seed of the original run
+        } else {
+            model = new IslandModel(input, config.islands, config.populationSize,
+                    config.epochLength, config.migrants, MigrationTopology.forName(config.topology), seed,
+                    PopulationInitializer.forName(config.initializer), RandomAlgorithm.forName(config.random));
+        }
+        model.setThreadsPerIsland(config.threads);
+        model.setRepairing(config.repair);
+        model.setFitnessFunction(FitnessFunction.forName(config.fitness));
+        model.setSelectionStrategy(selectionStrategy());
+        model.setSteadyState(config.engine.equals("steadyState"));
+        if (statistics != null) {
+            Population[] islands = model.getIslands();
+            for (int i = 0; i < islands.length; i++) {
+                islands[i].addGenerationListener(statistics.listener(name, i));
+            }
+        }
+
+        //Stagnation is tracked even when not a criterion, so snapshots can carry it on
+        StagnationLimit stagnation = new StagnationLimit(
+                config.stagnationGenerations > 0 ? config.stagnationGenerations : Integer.MAX_VALUE, lastImprovement);
+        List<TerminationCriterion> criteria = terminationCriteria(input, start, stagnation);
+        String stopReason = stopReason(criteria, model.getIslands());
+        try (SnapshotWriter snapshots = new SnapshotWriter()) {
+            while (stopReason == null) {
+                model.runGenerations(1, config.numberOfTournaments, config.tournamentSize,
+                        config.crossoverRate, config.crossoverPoints,
+                        config.mutationRate, config.mutationMaxLength);
+                stopReason = stopReason(criteria, model.getIslands());
+                if (config.checkpointGenerations > 0 && model.getGeneration() % config.checkpointGenerations == 0) {
+                    snapshots.write(model.snapshot(
+                            snapshotParameters(seed, stagnation.getLastImprovement())), snapshotFile);
+                }
+            }
+            if (config.checkpointGenerations > 0 && model.getGeneration() % config.checkpointGenerations != 0) {
+                snapshots.write(model.snapshot(snapshotParameters(seed, stagnation.getLastImprovement())), snapshotFile);
+            }
+        } finally {
+            model.shutdown();
+        }
+
+        long elapsedMillis = elapsedMillis(start);
+        int exactLength = (config.exactReference && pair) ? new ExactLcsSolver(model.getIslands()[0]).lcsLength() : -1;
+        return new RunResult(name, seed, model.getIslands()[0], model.getGeneration(), elapsedMillis, stopReason,
+                model.getBestSolution(), model.getBestSolutionFitness(), exactLength);
+    }
+
+    //In order of precedence when several are met at once
+    private List<TerminationCriterion> terminationCriteria(InputIndex input, long start, StagnationLimit stagnation) {
+        List<TerminationCriterion> criteria = new ArrayList<>();
+        if (config.stopAtBound) {
+            criteria.add(new OptimalityBound(input));
+        }
+        if (config.maxGenerations > 0) {
+            criteria.add(new GenerationLimit(config.maxGenerations));
+        }
+        if (config.maxSeconds > 0) {
+            criteria.add(new TimeLimit(start + (long) (config.maxSeconds * 1e9)));
+        }
+        criteria.add(stagnation);
+        if (config.minDiversity > 0) {
+            criteria.add(new DiversityCollapse(config.minDiversity));
+        }
+        return criteria;
+    }
+
+    //Asks every criterion, so each sees every generation, and gives the first reason
+    private static String stopReason(List<TerminationCriterion> criteria, Population[] islands) {
+        String reason = null;
+        for (TerminationCriterion criterion : criteria) {
+            String stop = criterion.check(islands);
+            if (reason == null) {
+                reason = stop;
+            }
+        }
+        return reason;
+    }
+
+    //null for the default tournaments, which take their parameters per generation
+    private SelectionStrategy selectionStrategy() {
+        switch (config.selection) {
+            case "muPlusLambda":
+                return new MuPlusLambdaSelection();
+            case "truncation":
+                return new TruncationSelection(config.truncationFraction);
+            case "sus":
+                return new StochasticUniversalSampling();
+            default:
+                return null;
+        }
+    }
+
+    //The configuration, plus what the runner needs to carry on where it stopped
+    private Properties snapshotParameters(long seed, int lastImprovement) {
+        Properties parameters = config.toProperties();
+        parameters.setProperty("seed", String.valueOf(seed));
+        parameters.setProperty("lastImprovement", String.valueOf(lastImprovement));
+        return parameters;
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    //The message, or the type of failure for those without one (such as NullPointerException)
+    static String errorMessage(Exception e) {
+        return (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    static String jsonNumber(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "null";
+        }
+        return String.valueOf(value);
+    }
+
+    static String jsonString(String s) {
+        StringBuilder json = new StringBuilder(s.length() + 2);
+        json.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+}
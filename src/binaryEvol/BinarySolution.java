@@ -1,5 +1,8 @@
 package binaryEvol;
 
+import java.util.Arrays;
+import java.util.Random;
+
 /**
  *
  * @author neal
@@ -8,233 +11,704 @@ package binaryEvol;
  */
 public class BinarySolution {
 
+    //Bits are packed 64 to a word, lowest index in the least significant bit
+    //Bits beyond length in the last word are always kept clear
+    private static final int WORD_SHIFT = 6;
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+
+    //Per-thread buffer the selected characters are decoded into for fuzzy matching
+    private static final ThreadLocal<PackedCodes> DECODE_BUFFER = ThreadLocal.withInitial(() -> new PackedCodes(1, 0));
+
     //Always Valid
-    private boolean[] bits;
+    //Bits live in words[offset, offset + wordCount); words may be shared with
+    //other solutions, as in a population's genome arena
+    private final long[] words;
+    private final int offset;
+    private final int wordCount;
+    private int length;
     private Population population;
 
-    //Flagged Validity 
-    private boolean assessmentValid = false;
+    //Flagged Validity, in tiers (see AssessmentTier): cardinality is always
+    //counted afresh; feasibility, then the fuzzy metrics, only when asked for
+    private boolean feasibilityValid = false;
+    private boolean metricsValid = false;
+    private int firstFailing = -1; //First long string it does not embed in; -1 when feasible
     private int solutionSkips = 0;
     private int longStringSkips = 0;
     private int matches = 0;
     private boolean feasible = false;
 
+    //Incremented whenever the bits change; lets holders of derived values detect staleness
+    private int modCount = 0;
+
+    //Incremental reassessment
+    //Bits [dirtyStart, dirtyEnd) may have changed since the last assessment
+    private int dirtyStart = Integer.MAX_VALUE;
+    private int dirtyEnd = 0;
+    private int assessedCardinality = 0;
+    //Per long string, describe the last assessment against it if it was fuzzy,
+    //else empty; null when not incremental
+    private FuzzyMatchCheckpoints[] checkpoints;
+    private FuzzyMatchCheckpoints[] spareCheckpoints;
+
     public BinarySolution(int length, Population population) {
+        this(length, population, new long[wordsFor(length)], 0);
+    }
+
+    //A view of wordsFor(length) words of arena, starting at offset, which must be clear
+    BinarySolution(int length, Population population, long[] arena, int offset) {
 
         this.population = population;
-        bits = new boolean[length];
-        for (int i = 0; i < length; i++) {
-            bits[i] = false;
+        this.length = length;
+        this.words = arena;
+        this.offset = offset;
+        this.wordCount = wordsFor(length);
+    }
+
+    //Words needed to hold length bits
+    static int wordsFor(int length) {
+        return wordIndex(length - 1) + 1;
+    }
+
+    private static int wordIndex(int bitIndex) {
+        return bitIndex >> WORD_SHIFT;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
         }
-        this.updateAssessment();
     }
 
     public boolean get(int index) {
-        this.updateAssessment();
-        return bits[index];
+        checkIndex(index);
+        return (words[offset + wordIndex(index)] & (1L << index)) != 0;
     }
 
     public void set(int index, boolean value) {
-        if (bits[index] != value) {
-            bits[index] = value;
-            assessmentValid = false;
+        checkIndex(index);
+        if (((words[offset + wordIndex(index)] & (1L << index)) != 0) != value) {
+            words[offset + wordIndex(index)] ^= (1L << index);
+            markDirty(index, index + 1);
         }
     }
 
     public void flip(int index) {
-        if (bits[index]) {
-            bits[index] = false;
-        } else {
-            bits[index] = true;
-        }
-        assessmentValid = false;
+        checkIndex(index);
+        words[offset + wordIndex(index)] ^= (1L << index);
+        markDirty(index, index + 1);
     }
 
     //Start inclusive, end exclusive
     public void flip(int start, int end) {
-        for (int i = start; i < end; i++) {
-            flip(i);
+        if (start >= end) {
+            return;
+        }
+        checkIndex(start);
+        checkIndex(end - 1);
+
+        int startWord = wordIndex(start);
+        int endWord = wordIndex(end - 1);
+        if (startWord == endWord) {
+            words[offset + startWord] ^= (firstWordMask(start) & lastWordMask(end));
+        } else {
+            words[offset + startWord] ^= firstWordMask(start);
+            for (int i = startWord + 1; i < endWord; i++) {
+                words[offset + i] ^= WORD_MASK;
+            }
+            words[offset + endWord] ^= lastWordMask(end);
+        }
+        markDirty(start, end);
+    }
+
+    //Flags the assessment for redoing, noting that bits [start, end) may have changed
+    private void markDirty(int start, int end) {
+        feasibilityValid = false;
+        metricsValid = false;
+        modCount++;
+        dirtyStart = Math.min(dirtyStart, start);
+        dirtyEnd = Math.max(dirtyEnd, end);
+    }
+
+    //Shift distances are taken mod 64: this keeps the bits of start's word from start up
+    private static long firstWordMask(int start) {
+        return WORD_MASK << start;
+    }
+
+    //Keeps the bits of (end - 1)'s word below end; the whole word when end is a multiple of 64
+    private static long lastWordMask(int end) {
+        return WORD_MASK >>> -end;
+    }
+
+    //Used by the crossover operators to exchange genetic material a word at a time
+    int wordCount() {
+        return wordCount;
+    }
+
+    //The genome as packed words, for snapshots
+    long[] copyWords() {
+        return Arrays.copyOfRange(words, offset, offset + wordCount);
+    }
+
+    //Replaces the genome with packed words taken from a solution of the same length
+    void loadWords(long[] source) {
+        if (source.length != wordCount || (source[wordCount - 1] & ~lastWordMask(length)) != 0) {
+            throw new IllegalArgumentException("Packed genome does not fit length " + length);
+        }
+        System.arraycopy(source, 0, words, offset, wordCount);
+        markDirty(0, length);
+    }
+
+    //Sets every bit at random, one random number per 64 bits
+    void randomize(Random random) {
+        if (length == 0) {
+            return;
+        }
+        if (random instanceof FastRandom) {
+            ((FastRandom) random).nextWords(words, offset, offset + wordCount);
+        } else {
+            for (int w = 0; w < wordCount; w++) {
+                words[offset + w] = random.nextLong();
+            }
+        }
+        words[offset + wordCount - 1] &= lastWordMask(length);
+        markDirty(0, length);
+    }
+
+    //Number of positions at which the two solutions differ; lengths must match
+    int hammingDistance(BinarySolution other) {
+        int distance = 0;
+        for (int w = 0; w < wordCount; w++) {
+            distance += Long.bitCount(words[offset + w] ^ other.words[other.offset + w]);
+        }
+        return distance;
+    }
+
+    //Exchanges the bits selected by mask in the given word with other's
+    void swapWord(BinarySolution other, int wordIndex, long mask) {
+        long difference = (words[offset + wordIndex] ^ other.words[other.offset + wordIndex]) & mask;
+        if (difference != 0) {
+            words[offset + wordIndex] ^= difference;
+            other.words[other.offset + wordIndex] ^= difference;
+            int start = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(difference);
+            int end = ((wordIndex + 1) << WORD_SHIFT) - Long.numberOfLeadingZeros(difference);
+            markDirty(start, end);
+            other.markDirty(start, end);
         }
     }
 
+    //Exchanges bits [start, end) with other's; start inclusive, end exclusive
+    void swapRange(BinarySolution other, int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        checkIndex(start);
+        checkIndex(end - 1);
+
+        int startWord = wordIndex(start);
+        int endWord = wordIndex(end - 1);
+        if (startWord == endWord) {
+            swapWord(other, startWord, firstWordMask(start) & lastWordMask(end));
+        } else {
+            swapWord(other, startWord, firstWordMask(start));
+            for (int i = startWord + 1; i < endWord; i++) {
+                swapWord(other, i, WORD_MASK);
+            }
+            swapWord(other, endWord, lastWordMask(end));
+        }
+    }
+
+    //The cheapest tier: never assesses
     public int cardinality() {
-        this.updateAssessment();
+        return countBits();
+    }
+
+    private int countBits() {
         int cardinality = 0;
-        for (int i = 0; i < bits.length; i++) {
-            if (bits[i]) {
-                cardinality++;
-            }
+        for (int i = 0; i < wordCount; i++) {
+            cardinality += Long.bitCount(words[offset + i]);
         }
         return cardinality;
     }
 
     public int length() {
-        return bits.length;
+        return length;
+    }
+
+    //Number of set bits before index
+    private int cardinalityBefore(int index) {
+        int cardinality = 0;
+        int lastWord = wordIndex(index);
+        for (int i = 0; i < lastWord; i++) {
+            cardinality += Long.bitCount(words[offset + i]);
+        }
+        if (lastWord < wordCount) {
+            cardinality += Long.bitCount(words[offset + lastWord] & ~firstWordMask(index));
+        }
+        return cardinality;
+    }
+
+    int getModCount() {
+        return modCount;
     }
 
     public int getSolutionSkips() {
-        this.updateAssessment();
+        this.assessMetrics();
         return solutionSkips;
     }
 
     public int getLongStringSkips() {
-        this.updateAssessment();
+        this.assessMetrics();
         return longStringSkips;
     }
 
     public int getMatches() {
-        this.updateAssessment();
+        this.assessMetrics();
         return matches;
     }
 
+    //Copies the genome and any valid assessment; the clone needs no reassessment
     public BinarySolution deepClone() {
-        BinarySolution bitSet = new BinarySolution(bits.length, this.population);
-        for (int i = 0; i < bits.length; i++) {
-            bitSet.set(i, bits[i]);
-        }
+        return cloneInto(this.population);
+    }
+
+    //As deepClone, but the copy belongs to population, which must share this one's strings
+    BinarySolution cloneInto(Population population) {
+        BinarySolution bitSet = new BinarySolution(length, population);
+        bitSet.copyFrom(this);
         return bitSet;
     }
 
+    /*
+        Turns this solution into a copy of other, which must have the same 
+        length, reusing this one's arrays. Counts as a modification.
+     */
+    void copyFrom(BinarySolution other) {
+        if (other.length != length) {
+            throw new IllegalArgumentException("Lengths differ: " + other.length + " and " + length);
+        }
+        System.arraycopy(other.words, other.offset, words, offset, wordCount);
+        modCount++;
+        this.feasibilityValid = other.feasibilityValid;
+        this.metricsValid = other.metricsValid;
+        this.firstFailing = other.firstFailing;
+        this.solutionSkips = other.solutionSkips;
+        this.longStringSkips = other.longStringSkips;
+        this.matches = other.matches;
+        this.feasible = other.feasible;
+        this.dirtyStart = other.dirtyStart;
+        this.dirtyEnd = other.dirtyEnd;
+        this.assessedCardinality = other.assessedCardinality;
+        if (other.checkpoints != null) {
+            if (this.checkpoints == null) {
+                this.allocateCheckpoints();
+            }
+            for (int s = 0; s < checkpoints.length; s++) {
+                this.checkpoints[s].copyFrom(other.checkpoints[s]);
+            }
+        } else if (this.checkpoints != null) {
+            this.clearCheckpoints();
+        }
+    }
+
+    private void allocateCheckpoints() {
+        int strings = population.getLongStringCount();
+        checkpoints = new FuzzyMatchCheckpoints[strings];
+        spareCheckpoints = new FuzzyMatchCheckpoints[strings];
+        for (int s = 0; s < strings; s++) {
+            checkpoints[s] = new FuzzyMatchCheckpoints();
+            spareCheckpoints[s] = new FuzzyMatchCheckpoints();
+        }
+    }
+
+    private void clearCheckpoints() {
+        for (FuzzyMatchCheckpoints stringCheckpoints : checkpoints) {
+            stringCheckpoints.clear();
+        }
+    }
+
+    //For display; assessment decodes into a reused buffer instead
     public String getSolutionAsString() {
-        String sequence = "";
-        for (int i = 0; i < bits.length; i++) {
-            if (bits[i]) {
-                sequence += population.getShortString().charAt(i) + "";
+        CharSequence shortString = population.getShortString();
+        StringBuilder sequence = new StringBuilder();
+        for (int w = 0; w < wordCount; w++) {
+            long word = words[offset + w];
+            while (word != 0) {
+                int i = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                sequence.append(shortString.charAt(i));
+                word &= word - 1;
             }
         }
-        return sequence;
+        return sequence.toString();
     }
 
     /*
         Returns true iff the specified solution sequence is a valid subsequence
-        in the longString.
+        of every long string. Assesses feasibility only, never fuzzy matching.
      */
-    //TODO: Optimize
     public boolean isFeasible() {
-        String solutionSequence = this.getSolutionAsString();
-        int solSeqIter = 0;
-        int longStringIterator = 0;
+        this.assessFeasibility();
+        return feasible;
+    }
+
+    //Writes the codes of the selected characters of the shortString into buffer, in order
+    private void decodeSolution(PackedCodes buffer, PackedCodes shortStringCodes) {
+        int decoded = 0;
+        for (int w = 0; w < wordCount; w++) {
+            long word = words[offset + w];
+            while (word != 0) {
+                buffer.set(decoded++, shortStringCodes.get((w << WORD_SHIFT) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+    }
 
-        while (solSeqIter < solutionSequence.length()
-                && longStringIterator < population.getLongString().length()) {
-            char currentChar = solutionSequence.charAt(solSeqIter);
-            boolean foundMatch = false;
-            while (longStringIterator < population.getLongString().length()
-                    && !foundMatch) {
-                if (currentChar == population.getLongString().charAt(longStringIterator)) {
-                    foundMatch = true;
+    /*
+        Walks the set bits, jumping to the next occurrence of each selected 
+        character in long string s; one table lookup per selected character.
+     */
+    private boolean embedsIn(int s) {
+        SubsequenceIndex longStringIndex = population.getLongStringIndex(s);
+        PackedCodes shortStringCodes = population.getShortStringCodes();
+        int longStringIterator = 0;
+        for (int w = 0; w < wordCount; w++) {
+            long word = words[offset + w];
+            while (word != 0) {
+                int code = shortStringCodes.get((w << WORD_SHIFT) + Long.numberOfTrailingZeros(word));
+                longStringIterator = longStringIndex.next(longStringIterator, code);
+                if (longStringIterator == longStringIndex.length()) {
+                    return false;
                 }
                 longStringIterator++;
+                word &= word - 1;
             }
-            if (foundMatch) {
-                solSeqIter++;
+        }
+        return true;
+    }
+
+    /*
+        Clears selected bits until the solution is feasible, in one pass per
+        long string: each selected character is matched at its next occurrence
+        after the previous match, or deselected if there is none. Clearing bits
+        never breaks an earlier pass, so the result embeds in every long string.
+        The passes prove the result feasible, so they also stand as its assessment.
+     */
+    public void repair() {
+        int firstCleared = -1;
+        int lastCleared = -1;
+        for (int s = 0; s < population.getLongStringCount(); s++) {
+            SubsequenceIndex longStringIndex = population.getLongStringIndex(s);
+            PackedCodes shortStringCodes = population.getShortStringCodes();
+            int longStringIterator = 0;
+            for (int w = 0; w < wordCount; w++) {
+                long word = words[offset + w];
+                while (word != 0) {
+                    int i = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                    int match = longStringIndex.next(longStringIterator, shortStringCodes.get(i));
+                    if (match == longStringIndex.length()) {
+                        words[offset + w] &= ~(1L << i);
+                        if (firstCleared < 0 || i < firstCleared) {
+                            firstCleared = i;
+                        }
+                        lastCleared = Math.max(lastCleared, i);
+                    } else {
+                        longStringIterator = match + 1;
+                    }
+                    word &= word - 1;
+                }
             }
         }
-        //If the sequence iterator reaches the end, all characters in the 
-        //sequence were successfully matched
-        if (solSeqIter < solutionSequence.length()) {
-            return true;
-        } else {
-            return false;
+        if (firstCleared >= 0) {
+            markDirty(firstCleared, lastCleared + 1);
         }
+
+        int solutionLength = this.countBits();
+        feasible = true;
+        firstFailing = -1;
+        solutionSkips = 0;
+        matches = solutionLength;
+        longStringSkips = population.getLongString().length() - solutionLength;
+        if (checkpoints != null) {
+            this.clearCheckpoints();
+        }
+        assessedCardinality = solutionLength;
+        dirtyStart = Integer.MAX_VALUE;
+        dirtyEnd = 0;
+        feasibilityValid = true;
+        metricsValid = true;
     }
 
+    //Brings every tier of the assessment up to date
+    public void updateAssessment() {
+        this.assessMetrics();
+    }
+
+    //Brings the assessment up to date as far as tier, and no further
+    //Counted by the population as served from the assessment, or assessed afresh
+    public void assess(AssessmentTier tier) {
+        switch (tier) {
+            case FEASIBILITY:
+                population.countAssessment(feasibilityValid);
+                this.assessFeasibility();
+                break;
+            case FUZZY:
+                population.countAssessment(metricsValid);
+                this.assessMetrics();
+                break;
+            default:
+                break; //Cardinality is never stored
+        }
+    }
+
+    /*
+    Feasible means embedding in every long string; the embedding checks may
+    run in parallel (see Population.firstFailingLongString). Only the fuzzy
+    metrics depend on the changed bits being tracked, so this leaves them be.
+     */
+    private void assessFeasibility() {
+        if (feasibilityValid) {
+            return;
+        }
+        firstFailing = population.firstFailingLongString(this::embedsIn);
+        feasible = firstFailing < 0;
+        feasibilityValid = true;
+    }
 
     /*
+    -An infeasible solution is fuzzy matched against each long string it does
+    not embed in, and reports the totals of the one it fits worst (lowest
+    matches less solution skips); with two strings, simply against the longer
+    -A feasible one matches all of itself, so needs no fuzzy matching
+    -Incremental assessment keeps checkpoints per long string; the bits changed
+    since they were taken are tracked until the metrics are next assessed
+     */
+    private void assessMetrics() {
+        //If nothing has changed, don't redo assessment
+        if (metricsValid) {
+            return;
+        }
+        this.assessFeasibility();
+
+        int solutionLength = this.countBits();
+        boolean incremental = population.isIncrementalAssessment();
+        if (!incremental) {
+            checkpoints = null;
+            spareCheckpoints = null;
+        } else if (checkpoints == null) {
+            this.allocateCheckpoints();
+        }
+
+        if (feasible) {
+            matches = solutionLength;
+            solutionSkips = 0;
+            longStringSkips = population.getLongString().length() - solutionLength;
+            if (incremental) {
+                this.clearCheckpoints();
+            }
+
+            //If not feasible, do fuzzy assessment          
+            //-Higher complexity, probably don't want to use these every time
+            //-Much more intensive than cardinality fitness
+        } else {
+            int worstSolutionSkips = 0;
+            int worstLongStringSkips = 0;
+            int worstMatches = 0;
+            boolean matched = false;
+            for (int s = firstFailing; s < population.getLongStringCount(); s++) {
+                //Strings before the first failing one are known to embed it
+                if (s > firstFailing && this.embedsIn(s)) {
+                    if (incremental) {
+                        checkpoints[s].clear();
+                    }
+                    continue;
+                }
+                this.fuzzyMatch(s, solutionLength, incremental);
+                if (!matched || matches - solutionSkips < worstMatches - worstSolutionSkips) {
+                    worstSolutionSkips = solutionSkips;
+                    worstLongStringSkips = longStringSkips;
+                    worstMatches = matches;
+                    matched = true;
+                }
+            }
+            if (incremental) {
+                for (int s = 0; s < firstFailing; s++) {
+                    checkpoints[s].clear();
+                }
+            }
+            solutionSkips = worstSolutionSkips;
+            longStringSkips = worstLongStringSkips;
+            matches = worstMatches;
+        }
+        assessedCardinality = solutionLength;
+        dirtyStart = Integer.MAX_VALUE;
+        dirtyEnd = 0;
+        metricsValid = true;
+    }
+
+    /*
+    Fuzzy matching against long string s, leaving its totals in solutionSkips,
+    longStringSkips and matches
     -Roughly O(n^2) with searchRange when infeasible
     -searchRange is the distance from initial iterator positions to search
     calculated as the sum of the distances from each iterator
     -search range of 3-12 should be fine
     -search range must be at least 2
+    -When incremental assessment is on, a fuzzy assessment resumes from the
+    last checkpoint before the first changed bit, and stops as soon as it 
+    rejoins the previous run; see FuzzyMatchCheckpoints
      */
-    //TODO: Add option to skip feasibility check?
-    public void updateAssessment() {
-        //If nothing has changed, don't redo assessment
-        if (assessmentValid) {
-            return;
-        }
-        
+    private void fuzzyMatch(int s, int solutionLength, boolean incremental) {
         this.solutionSkips = 0;
         this.longStringSkips = 0;
         this.matches = 0;
-        
-        String solution = this.getSolutionAsString();
 
-        String longString = population.getLongString();
+        //Characters are compared as codes, which every string shares; a shortString
+        //character the longString lacks has a code it never holds, so never matches
+        SubsequenceIndex longStringIndex = population.getLongStringIndex(s);
         int searchRange = population.getSearchRange();
 
-        //Feasibility check
-        if (this.isFeasible()) {
-            matches = solution.length();
-            longStringSkips = longString.length() - solution.length();
-            feasible = true;
+        PackedCodes shortStringCodes = population.getShortStringCodes();
+        PackedCodes solution = DECODE_BUFFER.get();
+        if (solution.length() < solutionLength || solution.getCodeBits() != shortStringCodes.getCodeBits()) {
+            solution = new PackedCodes(longStringIndex.getAlphabetSize(), shortStringCodes.length());
+            DECODE_BUFFER.set(solution);
+        }
+        this.decodeSolution(solution, shortStringCodes);
 
-            //If not feasible, do fuzzy assessment          
-            //-Higher complexity, probably don't want to use these every time
-            //-Much more intensive than cardinality fitness
-        } else {
-            double sequenceLengthRatio = solution.length() / (double) longString.length();
-            int solutionIterator = 0, longStringIterator = 0;
-            while (solutionIterator < solution.length()
-                    && longStringIterator < longString.length()) {
-
-                //If match, iterate
-                if (solution.charAt(solutionIterator)
-                        == longString.charAt(longStringIterator)) {
-                    solutionIterator++;
-                    longStringIterator++;
-                    matches++;
-                    //If no match without search, search!    
-                } else {
-                    //Search:
-                    boolean match = false;
-                    //Increase search range to max range
-                    for (int currentRange = 1; currentRange <= searchRange && !match; currentRange++) {
-                        //Search diagonally at current range, unless a match has been found
-                        for (int solutionSearch = 0, longStringSearch = currentRange;
-                                longStringSearch >= 0 && !match
-                                && solutionIterator + solutionSearch < solution.length()
-                                && longStringIterator + longStringSearch < longString.length();
-                                solutionSearch++, longStringSearch--) {
-                            //If a match is found, iterate, add to matches, and break
-                            if (solution.charAt(solutionIterator + solutionSearch)
-                                    == longString.charAt(longStringIterator + longStringSearch)) {
-                                match = true;
-                                matches++;
-                                solutionIterator += solutionSearch;
-                                solutionSkips += solutionSearch;
-                                longStringIterator += longStringSearch;
-                                longStringSkips += longStringSearch;
-                                break;
-                            }
-                        }
+        double sequenceLengthRatio = solutionLength / (double) longStringIndex.length();
+        int solutionIterator = 0, longStringIterator = 0;
+
+        //Checkpoints of the previous run, if it can be resumed and rejoined
+        FuzzyMatchCheckpoints previous = null;
+        FuzzyMatchCheckpoints current = incremental ? checkpoints[s] : null;
+        int solutionShift = 0; //Where the previous run's unchanged tail has moved in solution
+        int previousTailStart = 0; //Where that tail started in the previous solution
+        int pending = 0; //Next previous checkpoint to try rejoining at
+        if (incremental && current.size() > 0 && dirtyStart < dirtyEnd) {
+            previous = current;
+            current = spareCheckpoints[s];
+            checkpoints[s] = current;
+            spareCheckpoints[s] = previous;
+
+            //Characters before the first changed bit are unchanged, but the 
+            //search looks up to searchRange characters ahead of the iterator
+            int resume = previous.lastResumable(
+                    cardinalityBefore(dirtyStart) - searchRange, sequenceLengthRatio);
+            current.copyPrefix(previous, resume);
+            solutionIterator = previous.getSolutionIterator(resume);
+            longStringIterator = previous.getLongStringIterator(resume);
+            solutionSkips = previous.getSolutionSkips(resume);
+            longStringSkips = previous.getLongStringSkips(resume);
+            matches = previous.getMatches(resume);
+            current.add(solutionIterator, longStringIterator, solutionSkips, longStringSkips, matches);
+
+            solutionShift = solutionLength - assessedCardinality;
+            previousTailStart = cardinalityBefore(dirtyEnd) - solutionShift;
+            pending = resume + 1;
+            previous.computeSuffixBounds();
+        } else if (incremental) {
+            current.clear();
+            current.add(0, 0, 0, 0, 0);
+        }
+        int nextCheckpoint = (solutionIterator / FuzzyMatchCheckpoints.INTERVAL + 1) * FuzzyMatchCheckpoints.INTERVAL;
+        boolean rejoined = false;
+
+        while (solutionIterator < solutionLength
+                && longStringIterator < longStringIndex.length()) {
+
+            //Once in the unchanged tail, stop if this is a state the previous 
+            //run passed through; the rest of the run would be the same
+            if (previous != null) {
+                while (pending < previous.size()
+                        && previous.getSolutionIterator(pending) + solutionShift < solutionIterator) {
+                    pending++;
+                }
+                if (pending < previous.size()
+                        && previous.getSolutionIterator(pending) >= previousTailStart
+                        && previous.sameState(pending, solutionShift, solutionIterator,
+                                longStringIterator, solutionSkips, longStringSkips)
+                        && previous.suffixValid(pending, sequenceLengthRatio)) {
+                    int matchShift = matches - previous.getMatches(pending);
+                    for (int j = pending; j < previous.size(); j++) {
+                        current.addShifted(previous, j, solutionShift, matchShift);
                     }
+                    matches = previous.getTotalMatches() + matchShift;
+                    solutionSkips = previous.getTotalSolutionSkips();
+                    longStringSkips = previous.getTotalLongStringSkips();
+                    rejoined = true;
+                    break;
+                }
+            }
+            if (incremental && solutionIterator >= nextCheckpoint) {
+                current.add(solutionIterator, longStringIterator, solutionSkips, longStringSkips, matches);
+                nextCheckpoint = (solutionIterator / FuzzyMatchCheckpoints.INTERVAL + 1) * FuzzyMatchCheckpoints.INTERVAL;
+            }
 
-                    //Searching complete
-                    //If match not found after search:
-                    if (!match) {
-                        //Iterate; skip more of the sequence which has been skipped less relative to overall lengths
-                        double skipRatio = solutionSkips / (double) longStringSkips;
-                        if (skipRatio > sequenceLengthRatio) {
-                            longStringIterator += searchRange - 1;
-                            longStringSkips += searchRange - 1;
-                            solutionIterator++;
-                            solutionSkips++;
-                        } else {
-                            longStringIterator += searchRange / 2;
-                            longStringSkips += searchRange / 2;
-                            solutionIterator += 1 + searchRange / 2;
-                            solutionSkips += 1 + searchRange / 2;
+            //If match, iterate
+            if (solution.get(solutionIterator)
+                    == longStringIndex.codeAt(longStringIterator)) {
+                solutionIterator++;
+                longStringIterator++;
+                matches++;
+                //If no match without search, search!    
+            } else {
+                //Search:
+                boolean match = false;
+                //Increase search range to max range
+                for (int currentRange = 1; currentRange <= searchRange && !match; currentRange++) {
+                    //Search diagonally at current range, unless a match has been found
+                    for (int solutionSearch = 0, longStringSearch = currentRange;
+                            longStringSearch >= 0 && !match
+                            && solutionIterator + solutionSearch < solutionLength
+                            && longStringIterator + longStringSearch < longStringIndex.length();
+                            solutionSearch++, longStringSearch--) {
+                        //If a match is found, iterate, add to matches, and break
+                        if (solution.get(solutionIterator + solutionSearch)
+                                == longStringIndex.codeAt(longStringIterator + longStringSearch)) {
+                            match = true;
+                            matches++;
+                            solutionIterator += solutionSearch;
+                            solutionSkips += solutionSearch;
+                            longStringIterator += longStringSearch;
+                            longStringSkips += longStringSearch;
+                            break;
                         }
                     }
                 }
+
+                //Searching complete
+                //If match not found after search:
+                if (!match) {
+                    //Iterate; skip more of the sequence which has been skipped less relative to overall lengths
+                    double skipRatio = solutionSkips / (double) longStringSkips;
+                    boolean skipLongString = skipRatio > sequenceLengthRatio;
+                    if (incremental) {
+                        current.recordDecision(skipRatio, skipLongString);
+                    }
+                    if (skipLongString) {
+                        longStringIterator += searchRange - 1;
+                        longStringSkips += searchRange - 1;
+                        solutionIterator++;
+                        solutionSkips++;
+                    } else {
+                        longStringIterator += searchRange / 2;
+                        longStringSkips += searchRange / 2;
+                        solutionIterator += 1 + searchRange / 2;
+                        solutionSkips += 1 + searchRange / 2;
+                    }
+                }
             }
+        }
 
-            //Skip any remaining characters in both lists
-            this.solutionSkips += (solution.length() - solutionIterator);
-            this.longStringSkips += (longString.length() - longStringIterator);
+        //Skip any remaining characters in both lists
+        //(a rejoined run already has the previous run's totals)
+        if (!rejoined) {
+            this.solutionSkips += (solutionLength - solutionIterator);
+            this.longStringSkips += (longStringIndex.length() - longStringIterator);
+        }
+        if (incremental) {
+            current.setTotals(solutionSkips, longStringSkips, matches);
         }
-        assessmentValid = true;
     }
 
 }
@@ -0,0 +1,58 @@
+package binaryEvol;
+
+import java.nio.ByteBuffer;
+
+/**
+ *
+ * A sequence of one-byte characters (ASCII or Latin-1) stored in a ByteBuffer,
+ * typically a memory-mapped slice of an input file, so the characters never
+ * have to be copied onto the heap
+ *
+ */
+public class ByteSequence implements CharSequence {
+
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+
+    //Characters [offset, offset + length) of bytes; absolute positions, so bytes' position is ignored
+    public ByteSequence(ByteBuffer bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.limit()) {
+            throw new IndexOutOfBoundsException("Range " + offset + "+" + length + " outside buffer");
+        }
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return (char) (bytes.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new ByteSequence(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (bytes.get(offset + i) & 0xFF);
+        }
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,22 @@
+package binaryEvol;
+
+/**
+ *
+ * Fitness is the number of characters selected, with no regard to feasibility
+ * Meant for populations that repair every solution, which are all feasible,
+ * so never need a feasibility check or fuzzy matching to be scored.
+ *
+ */
+public class CardinalityFitness implements FitnessFunction {
+
+    @Override
+    public double getFitness(BinarySolution solution) {
+        return solution.cardinality();
+    }
+
+    @Override
+    public AssessmentTier requiredAssessment() {
+        return AssessmentTier.CARDINALITY;
+    }
+
+}
@@ -0,0 +1,59 @@
+package binaryEvol;
+
+import java.io.PrintStream;
+
+/**
+ *
+ * StatisticsSink writing CSV, with a header line before the first row
+ *
+ */
+public class CsvStatisticsSink implements StatisticsSink {
+
+    private static final String HEADER = "input,island,generation,meanFitness,bestFitness,worstFitness,"
+            + "feasibleFraction,diversity,evaluations,assessmentCacheHitRate,"
+            + "selectionNanos,crossoverNanos,mutationNanos,repairNanos,evaluationNanos";
+
+    private final PrintStream out;
+    private boolean headerWritten = false;
+
+    public CsvStatisticsSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public GenerationListener listener(String input, int island) {
+        String label = csvField(input) + "," + island;
+        return statistics -> write(label, statistics);
+    }
+
+    private synchronized void write(String label, GenerationStatistics statistics) {
+        if (!headerWritten) {
+            out.println(HEADER);
+            headerWritten = true;
+        }
+        out.println(label
+                + "," + statistics.getGeneration()
+                + "," + statistics.getMeanFitness()
+                + "," + statistics.getBestFitness()
+                + "," + statistics.getWorstFitness()
+                + "," + statistics.getFeasibleFraction()
+                + "," + statistics.getDiversity()
+                + "," + statistics.getEvaluations()
+                + "," + statistics.getAssessmentCacheHitRate()
+                + "," + statistics.getSelectionNanos()
+                + "," + statistics.getCrossoverNanos()
+                + "," + statistics.getMutationNanos()
+                + "," + statistics.getRepairNanos()
+                + "," + statistics.getEvaluationNanos());
+        out.flush();
+    }
+
+    //Quotes fields containing separators, quotes or line breaks
+    static String csvField(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+
+}
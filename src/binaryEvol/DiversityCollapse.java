@@ -0,0 +1,29 @@
+package binaryEvol;
+
+/**
+ *
+ * Stops a run once its populations have converged: when, on every island,
+ * solutions differ on average in at most minDiversity of their bits
+ * Islands that converged on different solutions can still be recombined by
+ * migration, so one diverse island keeps the run going.
+ *
+ */
+public class DiversityCollapse implements TerminationCriterion {
+
+    private final double minDiversity;
+
+    public DiversityCollapse(double minDiversity) {
+        this.minDiversity = minDiversity;
+    }
+
+    @Override
+    public String check(Population[] islands) {
+        for (Population island : islands) {
+            if (island.getDiversity() > minDiversity * island.getShortString().length()) {
+                return null;
+            }
+        }
+        return "converged";
+    }
+
+}
@@ -0,0 +1,239 @@
+package binaryEvol;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ *
+ * Everything needed to resume a run: the strings, the run's parameters,
+ * and a PopulationSnapshot per island, plus the migration generator of an
+ * IslandModel. Written as one compact binary file.
+ *
+ * Files are written to a temporary file first and then moved into place, so
+ * an interrupted write never replaces a good snapshot with a broken one.
+ * Reading maps the file into memory. Strings stored one byte per character
+ * stay in the mapping as ByteSequences; genomes are copied straight out of it.
+ * Newer snapshots are moved over the file rather than written into it, so
+ * the mapping of a resumed run stays intact.
+ *
+ */
+public class EvolutionSnapshot {
+
+    private static final long MAGIC = 0x4C43535F534E4150L; //"LCS_SNAP"
+    //Version 1 held exactly two strings, shortString first
+    private static final int VERSION = 2;
+
+    private final Properties parameters;
+    //As Population.getStrings returns them, the shortString first
+    private final CharSequence[] strings;
+    private final byte[] migrationRandomState;
+    private final PopulationSnapshot[] islands;
+
+    EvolutionSnapshot(Properties parameters, CharSequence[] strings,
+            byte[] migrationRandomState, PopulationSnapshot[] islands) {
+        this.parameters = parameters;
+        this.strings = strings;
+        this.migrationRandomState = migrationRandomState;
+        this.islands = islands;
+    }
+
+    //Whatever the run chose to record alongside the populations
+    public Properties getParameters() {
+        return parameters;
+    }
+
+    public CharSequence getShortString() {
+        return strings[0];
+    }
+
+    //The first long string
+    public CharSequence getLongString() {
+        return strings[1];
+    }
+
+    public CharSequence[] getStrings() {
+        return strings.clone();
+    }
+
+    byte[] getMigrationRandomState() {
+        return migrationRandomState;
+    }
+
+    public PopulationSnapshot[] getIslands() {
+        return islands;
+    }
+
+    //The islands' generation; they always run in step
+    public int getGeneration() {
+        return islands[0].getGeneration();
+    }
+
+    //True if the snapshot was taken over these strings, in either order
+    public boolean hasStrings(CharSequence a, CharSequence b) {
+        return hasStrings(new CharSequence[]{a, b}) || hasStrings(new CharSequence[]{b, a});
+    }
+
+    //True if the snapshot was taken over these strings, in this order
+    public boolean hasStrings(CharSequence[] candidates) {
+        if (candidates.length != strings.length) {
+            return false;
+        }
+        CharSequence[] arranged = InputIndex.arrangeStrings(candidates);
+        for (int i = 0; i < strings.length; i++) {
+            if (!sameCharacters(strings[i], arranged[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameCharacters(CharSequence a, CharSequence b) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < a.length(); i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+///////////////////////////////   WRITING   ////////////////////////////////////
+    public void writeTo(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        File temporary = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temporary), 1 << 16))) {
+                write(out);
+            }
+            try {
+                Files.move(temporary.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary.toPath());
+        }
+    }
+
+    /*
+        Layout, big-endian: magic, version, parameters (count, then key and
+        value pairs), string count, the strings, migration random state (length,
+        bytes), island count, then each island's snapshot.
+     */
+    private void write(DataOutputStream out) throws IOException {
+        out.writeLong(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(parameters.size());
+        for (String key : parameters.stringPropertyNames()) {
+            writeString(out, key);
+            writeString(out, parameters.getProperty(key));
+        }
+        out.writeInt(strings.length);
+        for (CharSequence s : strings) {
+            writeString(out, s);
+        }
+        out.writeInt(migrationRandomState.length);
+        out.write(migrationRandomState);
+        out.writeInt(islands.length);
+        for (PopulationSnapshot island : islands) {
+            island.write(out);
+        }
+    }
+
+    //One byte per character when every character fits, else two
+    private static void writeString(DataOutputStream out, CharSequence s) throws IOException {
+        boolean narrow = true;
+        for (int i = 0; i < s.length() && narrow; i++) {
+            narrow = s.charAt(i) < 256;
+        }
+        out.writeBoolean(narrow);
+        out.writeInt(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            if (narrow) {
+                out.writeByte(s.charAt(i));
+            } else {
+                out.writeChar(s.charAt(i));
+            }
+        }
+    }
+
+///////////////////////////////   READING   ////////////////////////////////////
+    public static EvolutionSnapshot read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + file);
+            }
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(in);
+        } catch (BufferUnderflowException | NegativeArraySizeException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or corrupt snapshot: " + file, e);
+        }
+    }
+
+    private static EvolutionSnapshot read(ByteBuffer in) throws IOException {
+        if (in.getLong() != MAGIC) {
+            throw new IOException("Not a snapshot file");
+        }
+        int version = in.getInt();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        Properties parameters = new Properties();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            String key = readString(in).toString();
+            parameters.setProperty(key, readString(in).toString());
+        }
+        CharSequence[] strings = new CharSequence[(version == 1) ? 2 : in.getInt()];
+        if (strings.length < 2) {
+            throw new IOException("Snapshot has fewer than two strings");
+        }
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(in);
+        }
+        byte[] migration = new byte[in.getInt()];
+        in.get(migration);
+        PopulationSnapshot[] islands = new PopulationSnapshot[in.getInt()];
+        if (islands.length < 1) {
+            throw new IOException("Snapshot has no populations");
+        }
+        try {
+            for (int i = 0; i < islands.length; i++) {
+                islands[i] = PopulationSnapshot.read(in);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return new EvolutionSnapshot(parameters, strings, migration, islands);
+    }
+
+    private static CharSequence readString(ByteBuffer in) {
+        boolean narrow = in.get() != 0;
+        int length = in.getInt();
+        if (narrow) {
+            CharSequence mapped = new ByteSequence(in, in.position(), length);
+            in.position(in.position() + length);
+            return mapped;
+        }
+        char[] chars = new char[length];
+        in.asCharBuffer().get(chars);
+        in.position(in.position() + length * 2);
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,179 @@
+package binaryEvol;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Exact longest common subsequence of a population's two strings
+ *
+ * Lengths come from the bit-parallel algorithm of Allison-Dix and Hyyro: one
+ * bit per shortString character, one multi-word add and subtract per longString
+ * character, so O(n*m/64) word operations in O(m/64) space.
+ * The subsequence itself is recovered with Hirschberg's divide and conquer,
+ * which needs bit-parallel rows for both halves of the longString at each
+ * level but never more than linear space.
+ *
+ * The result is a feasible BinarySolution of maximum cardinality; useful as a
+ * reference for the evolved solutions, or as a seed via receiveMigrants.
+ * Only for two strings; the exact LCS of more takes time exponential in
+ * their number, which is where evolving pays off.
+ *
+ */
+public class ExactLcsSolver {
+
+    //Subproblems with at most this many cells are solved with a plain table
+    private static final int TABLE_CELLS = 1 << 16;
+
+    private final Population population;
+    private final int alphabetSize;
+    private final PackedCodes shortCodes;
+    private final SubsequenceIndex longStringIndex;
+
+    public ExactLcsSolver(Population population) {
+        if (population.getLongStringCount() > 1) {
+            throw new IllegalArgumentException("Exact LCS only for two strings, not "
+                    + (population.getLongStringCount() + 1));
+        }
+        this.population = population;
+        this.longStringIndex = population.getLongStringIndex();
+        this.alphabetSize = longStringIndex.getAlphabetSize();
+        this.shortCodes = population.getShortStringCodes();
+    }
+
+    //Length of the longest common subsequence, without recovering it
+    public int lcsLength() {
+        int[] row = row(0, shortCodes.length(), 0, longStringIndex.length(), false);
+        return row[shortCodes.length()];
+    }
+
+    //A longest common subsequence, as a mask over the shortString
+    public BinarySolution solve() {
+        BinarySolution solution = new BinarySolution(shortCodes.length(), population);
+        hirschberg(solution, 0, shortCodes.length(), 0, longStringIndex.length());
+        return solution;
+    }
+
+    //Selects an LCS of shortString[aLo, aHi) and longString[bLo, bHi) in solution
+    private void hirschberg(BinarySolution solution, int aLo, int aHi, int bLo, int bHi) {
+        int aLength = aHi - aLo;
+        int bLength = bHi - bLo;
+        if (aLength == 0 || bLength == 0) {
+            return;
+        }
+        //A single longString character cannot be split further; its LCS is any one match
+        if (bLength == 1) {
+            for (int i = aLo; i < aHi; i++) {
+                if (shortCodes.get(i) == longStringIndex.codeAt(bLo)) {
+                    solution.set(i, true);
+                    return;
+                }
+            }
+            return;
+        }
+        if ((long) (aLength + 1) * (bLength + 1) <= TABLE_CELLS) {
+            tableTraceback(solution, aLo, aHi, bLo, bHi);
+            return;
+        }
+
+        //Split the longString in half, and the shortString where the two halves' LCS lengths sum highest
+        int bMid = (bLo + bHi) >>> 1;
+        int[] forward = row(aLo, aHi, bLo, bMid, false);
+        int[] backward = row(aLo, aHi, bMid, bHi, true);
+        int split = 0;
+        int best = -1;
+        for (int k = 0; k <= aLength; k++) {
+            int total = forward[k] + backward[aLength - k];
+            if (total > best) {
+                best = total;
+                split = k;
+            }
+        }
+        hirschberg(solution, aLo, aLo + split, bLo, bMid);
+        hirschberg(solution, aLo + split, aHi, bMid, bHi);
+    }
+
+    /*
+        Returns row[k] = LCS length of the first k characters of shortString[aLo, aHi)
+        and longString[bLo, bHi); if reversed, of the last k characters instead.
+
+        Bit i of V stands for the i-th character of the shortString range (counted
+        from the end if reversed); after each longString character, the zero bits
+        of V mark where the LCS length steps up.
+     */
+    private int[] row(int aLo, int aHi, int bLo, int bHi, boolean reversed) {
+        int m = aHi - aLo;
+        int words = (m + 63) >>> 6;
+
+        //Match masks: bit i of symbol c's mask is set where the range holds c
+        long[] matchMasks = new long[alphabetSize * words];
+        for (int i = 0; i < m; i++) {
+            int code = shortCodes.get(reversed ? aHi - 1 - i : aLo + i);
+            matchMasks[code * words + (i >>> 6)] |= 1L << i;
+        }
+
+        long[] v = new long[words];
+        Arrays.fill(v, -1L);
+        for (int j = 0; j < bHi - bLo; j++) {
+            int code = longStringIndex.codeAt(reversed ? bHi - 1 - j : bLo + j);
+            int offset = code * words;
+            long carry = 0;
+            for (int w = 0; w < words; w++) {
+                long vw = v[w];
+                long matches = matchMasks[offset + w];
+                long u = vw & matches;
+
+                //V' = (V + U) | (V - U); U is a subset of V, so V - U is just V & ~matches
+                //and only the addition carries from word to word
+                long sum = vw + u;
+                long sumCarry = Long.compareUnsigned(sum, vw) < 0 ? 1 : 0;
+                sum += carry;
+                carry = sumCarry | ((carry != 0 && sum == 0) ? 1 : 0);
+
+                v[w] = sum | (vw & ~matches);
+            }
+        }
+
+        int[] row = new int[m + 1];
+        int zeros = 0;
+        for (int i = 0; i < m; i++) {
+            if ((v[i >>> 6] & (1L << i)) == 0) {
+                zeros++;
+            }
+            row[i + 1] = zeros;
+        }
+        return row;
+    }
+
+    //Full dynamic programming table with traceback, for small subproblems
+    private void tableTraceback(BinarySolution solution, int aLo, int aHi, int bLo, int bHi) {
+        int aLength = aHi - aLo;
+        int bLength = bHi - bLo;
+        int width = bLength + 1;
+        int[] table = new int[(aLength + 1) * width];
+        for (int i = 1; i <= aLength; i++) {
+            int a = shortCodes.get(aLo + i - 1);
+            for (int j = 1; j <= bLength; j++) {
+                if (a == longStringIndex.codeAt(bLo + j - 1)) {
+                    table[i * width + j] = table[(i - 1) * width + j - 1] + 1;
+                } else {
+                    table[i * width + j] = Math.max(table[(i - 1) * width + j], table[i * width + j - 1]);
+                }
+            }
+        }
+        int i = aLength;
+        int j = bLength;
+        while (i > 0 && j > 0) {
+            int a = shortCodes.get(aLo + i - 1);
+            if (a == longStringIndex.codeAt(bLo + j - 1)) {
+                solution.set(aLo + i - 1, true);
+                i--;
+                j--;
+            } else if (table[(i - 1) * width + j] >= table[i * width + j - 1]) {
+                i--;
+            } else {
+                j--;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Base of the generators RandomAlgorithm offers besides java.util.Random
+ * Usable wherever a Random is expected, but unsynchronized, and every method
+ * draws from one nextLong() instead of Random's 48-bit steps: nextDouble()
+ * takes one number rather than two, nextBoolean() one bit of one.
+ *
+ * split() hands out an independent generator for a parallel worker, so
+ * workers need not share, or lock, the generator they were split from.
+ * A generator is seeded only by its seed, so runs stay reproducible.
+ *
+ */
+public abstract class FastRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    //Random's constructor seeds through setSeed, before subclass fields are initialized
+    protected FastRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public abstract long nextLong();
+
+    //Same state as a new generator with this seed
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed); //Only clears Random's cached Gaussian
+        this.seed(seed);
+    }
+
+    protected abstract void seed(long seed);
+
+    //A new generator, independent of this one, which it advances
+    public abstract FastRandom split();
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    //Lemire's multiply and reject: unbiased, rarely more than one number
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long product = (nextLong() >>> 32) * bound;
+        if ((product & 0xFFFFFFFFL) < bound) {
+            long threshold = (1L << 32) % bound;
+            while ((product & 0xFFFFFFFFL) < threshold) {
+                product = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        for (int i = 0; i < bytes.length; ) {
+            long bits = nextLong();
+            for (int n = Math.min(bytes.length - i, 8); n-- > 0; bits >>>= 8) {
+                bytes[i++] = (byte) bits;
+            }
+        }
+    }
+
+    //Bulk bits: fills words[from, to) with 64 random bits each
+    public void nextWords(long[] words, int from, int to) {
+        for (int i = from; i < to; i++) {
+            words[i] = nextLong();
+        }
+    }
+
+}
@@ -4,10 +4,29 @@ package binaryEvol;
  *
  * @author neal
  * An interface for wrapper classes for fitness functions
+ * Implementations must be thread-safe; populations may evaluate solutions in parallel
  * 
  */
 public interface FitnessFunction {
     
     public abstract double getFitness(BinarySolution solution);
+
+    //The costliest tier getFitness may ask of a solution; populations assess
+    //each solution up to this tier, and no further, before scoring it
+    public default AssessmentTier requiredAssessment() {
+        return AssessmentTier.FUZZY;
+    }
+
+    //fuzzy (SimpleFuzzyFitness) or cardinality, as named in a RunConfiguration
+    public static FitnessFunction forName(String name) {
+        switch (name) {
+            case "fuzzy":
+                return new SimpleFuzzyFitness();
+            case "cardinality":
+                return new CardinalityFitness();
+            default:
+                throw new IllegalArgumentException("Unknown fitness function: " + name);
+        }
+    }
     
 }
@@ -0,0 +1,23 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Each island sends its emigrants to every other island
+ *
+ */
+public class FullyConnectedTopology implements MigrationTopology {
+
+    @Override
+    public int[] destinations(int island, int islands, Random random) {
+        int[] destinations = new int[Math.max(0, islands - 1)];
+        for (int i = 0, d = 0; i < islands; i++) {
+            if (i != island) {
+                destinations[d++] = i;
+            }
+        }
+        return destinations;
+    }
+
+}
@@ -0,0 +1,198 @@
+package binaryEvol;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Snapshots of the fuzzy matching state in BinarySolution's fuzzy assessment,
+ * taken every INTERVAL solution characters, so a reassessment after a local
+ * change can resume from the last snapshot before the change
+ *
+ * Checkpoint 0 is always the starting state. Each checkpoint also records, for
+ * the skip decisions made between it and the next checkpoint, the range of
+ * sequence length ratios under which every one of those decisions comes out
+ * the same way; a segment can only be reused when the new ratio is in range.
+ *
+ */
+class FuzzyMatchCheckpoints {
+
+    static final int INTERVAL = 256;
+
+    private int count = 0;
+    private int[] solutionIterator = new int[4];
+    private int[] longStringIterator = new int[4];
+    private int[] solutionSkips = new int[4];
+    private int[] longStringSkips = new int[4];
+    private int[] matches = new int[4];
+    //Decisions in the segment hold for ratios in [lowestRatio, highestRatio)
+    private double[] lowestRatio = new double[4];
+    private double[] highestRatio = new double[4];
+
+    //Totals at the end of the run the checkpoints describe
+    private int totalSolutionSkips = 0;
+    private int totalLongStringSkips = 0;
+    private int totalMatches = 0;
+
+    //Scratch for suffixValid, combined bounds of segments j..count-1
+    private double[] suffixLowestRatio = new double[0];
+    private double[] suffixHighestRatio = new double[0];
+
+    int size() {
+        return count;
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    void add(int solutionIterator, int longStringIterator,
+            int solutionSkips, int longStringSkips, int matches) {
+        if (count == this.solutionIterator.length) {
+            int capacity = count * 2;
+            this.solutionIterator = Arrays.copyOf(this.solutionIterator, capacity);
+            this.longStringIterator = Arrays.copyOf(this.longStringIterator, capacity);
+            this.solutionSkips = Arrays.copyOf(this.solutionSkips, capacity);
+            this.longStringSkips = Arrays.copyOf(this.longStringSkips, capacity);
+            this.matches = Arrays.copyOf(this.matches, capacity);
+            this.lowestRatio = Arrays.copyOf(this.lowestRatio, capacity);
+            this.highestRatio = Arrays.copyOf(this.highestRatio, capacity);
+        }
+        this.solutionIterator[count] = solutionIterator;
+        this.longStringIterator[count] = longStringIterator;
+        this.solutionSkips[count] = solutionSkips;
+        this.longStringSkips[count] = longStringSkips;
+        this.matches[count] = matches;
+        this.lowestRatio[count] = Double.NEGATIVE_INFINITY;
+        this.highestRatio[count] = Double.POSITIVE_INFINITY;
+        count++;
+    }
+
+    /*
+        Appends checkpoint j of other, shifted by the given amounts; used when
+        a reassessment rejoins the previous run and takes over its remainder.
+     */
+    void addShifted(FuzzyMatchCheckpoints other, int j, int solutionShift, int matchShift) {
+        add(other.solutionIterator[j] + solutionShift, other.longStringIterator[j],
+                other.solutionSkips[j], other.longStringSkips[j], other.matches[j] + matchShift);
+        lowestRatio[count - 1] = other.lowestRatio[j];
+        highestRatio[count - 1] = other.highestRatio[j];
+    }
+
+    //Copies checkpoints [0, end) of other, including their segment bounds
+    void copyPrefix(FuzzyMatchCheckpoints other, int end) {
+        clear();
+        for (int j = 0; j < end; j++) {
+            addShifted(other, j, 0, 0);
+        }
+    }
+
+    void copyFrom(FuzzyMatchCheckpoints other) {
+        copyPrefix(other, other.count);
+        setTotals(other.totalSolutionSkips, other.totalLongStringSkips, other.totalMatches);
+    }
+
+    void setTotals(int solutionSkips, int longStringSkips, int matches) {
+        this.totalSolutionSkips = solutionSkips;
+        this.totalLongStringSkips = longStringSkips;
+        this.totalMatches = matches;
+    }
+
+    /*
+        Records a skip decision in the current segment: skipRatio was compared
+        against the sequence length ratio and came out above it or not
+     */
+    void recordDecision(double skipRatio, boolean above) {
+        if (Double.isNaN(skipRatio)) {
+            return; //NaN is never above, whatever the ratio
+        }
+        int last = count - 1;
+        if (above) {
+            highestRatio[last] = Math.min(highestRatio[last], skipRatio);
+        } else {
+            lowestRatio[last] = Math.max(lowestRatio[last], skipRatio);
+        }
+    }
+
+    private static boolean inRange(double ratio, double lowest, double highest) {
+        return lowest <= ratio && ratio < highest;
+    }
+
+    /*
+        Returns the last checkpoint that can be resumed from: its solution
+        iterator is at most maxSolutionIterator, and every decision before it
+        holds under ratio. Checkpoint 0 can always be resumed from.
+     */
+    int lastResumable(int maxSolutionIterator, double ratio) {
+        int j = 0;
+        while (j + 1 < count
+                && solutionIterator[j + 1] <= maxSolutionIterator
+                && inRange(ratio, lowestRatio[j], highestRatio[j])) {
+            j++;
+        }
+        return j;
+    }
+
+    //Prepares suffixValid; must be called once the checkpoints are complete
+    void computeSuffixBounds() {
+        if (suffixLowestRatio.length < count + 1) {
+            suffixLowestRatio = new double[solutionIterator.length + 1];
+            suffixHighestRatio = new double[solutionIterator.length + 1];
+        }
+        suffixLowestRatio[count] = Double.NEGATIVE_INFINITY;
+        suffixHighestRatio[count] = Double.POSITIVE_INFINITY;
+        for (int j = count - 1; j >= 0; j--) {
+            suffixLowestRatio[j] = Math.max(lowestRatio[j], suffixLowestRatio[j + 1]);
+            suffixHighestRatio[j] = Math.min(highestRatio[j], suffixHighestRatio[j + 1]);
+        }
+    }
+
+    //True if every decision from checkpoint j to the end holds under ratio
+    boolean suffixValid(int j, double ratio) {
+        return inRange(ratio, suffixLowestRatio[j], suffixHighestRatio[j]);
+    }
+
+    /*
+        True if checkpoint j, with its solution iterator shifted, is exactly
+        the given state; from there on the two runs are the same
+     */
+    boolean sameState(int j, int solutionShift, int solutionIterator, int longStringIterator,
+            int solutionSkips, int longStringSkips) {
+        return this.solutionIterator[j] + solutionShift == solutionIterator
+                && this.longStringIterator[j] == longStringIterator
+                && this.solutionSkips[j] == solutionSkips
+                && this.longStringSkips[j] == longStringSkips;
+    }
+
+    int getSolutionIterator(int j) {
+        return solutionIterator[j];
+    }
+
+    int getLongStringIterator(int j) {
+        return longStringIterator[j];
+    }
+
+    int getSolutionSkips(int j) {
+        return solutionSkips[j];
+    }
+
+    int getLongStringSkips(int j) {
+        return longStringSkips[j];
+    }
+
+    int getMatches(int j) {
+        return matches[j];
+    }
+
+    int getTotalSolutionSkips() {
+        return totalSolutionSkips;
+    }
+
+    int getTotalLongStringSkips() {
+        return totalLongStringSkips;
+    }
+
+    int getTotalMatches() {
+        return totalMatches;
+    }
+
+}
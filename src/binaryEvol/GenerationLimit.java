@@ -0,0 +1,22 @@
+package binaryEvol;
+
+/**
+ *
+ * Stops a run once it has completed a number of generations
+ * A resumed run counts from the start of the original run.
+ *
+ */
+public class GenerationLimit implements TerminationCriterion {
+
+    private final int maxGenerations;
+
+    public GenerationLimit(int maxGenerations) {
+        this.maxGenerations = maxGenerations;
+    }
+
+    @Override
+    public String check(Population[] islands) {
+        return islands[0].getGeneration() >= maxGenerations ? "generations" : null;
+    }
+
+}
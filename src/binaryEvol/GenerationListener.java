@@ -0,0 +1,14 @@
+package binaryEvol;
+
+/**
+ *
+ * Notified by a Population at the end of every generation
+ * Called on the thread that ran the generation; with an IslandModel, that is
+ * a different thread for each island.
+ *
+ */
+public interface GenerationListener {
+
+    public abstract void generationCompleted(GenerationStatistics statistics);
+
+}
@@ -0,0 +1,126 @@
+package binaryEvol;
+
+/**
+ *
+ * Summary of one generation of a Population, as passed to its listeners
+ *
+ * Fitness is under the population's default fitness function. The feasible
+ * fraction is NaN when that function needs no feasibility check (see
+ * AssessmentTier) and solutions are not repaired. Diversity is the mean
+ * Hamming distance between pairs of solutions, sampled on large populations.
+ * Evaluations and fitness lookups are those of the population's fitness
+ * cache during the generation. Assessment lookups are the tiers asked of
+ * solutions' assessments before scoring them (see BinarySolution.assess),
+ * and assessments the ones of those that were not already valid; their
+ * ratio is the assessment cache hit rate. Selection timings include the
+ * evaluations its tournaments needed. Timings are wall-clock nanoseconds.
+ *
+ */
+public class GenerationStatistics {
+
+    private final int generation;
+    private final double meanFitness;
+    private final double bestFitness;
+    private final double worstFitness;
+    private final double feasibleFraction;
+    private final double diversity;
+    private final long evaluations;
+    private final long fitnessLookups;
+    private final long assessmentLookups;
+    private final long assessments;
+    private final long selectionNanos;
+    private final long crossoverNanos;
+    private final long mutationNanos;
+    private final long repairNanos;
+    private final long evaluationNanos;
+
+    public GenerationStatistics(int generation, double meanFitness, double bestFitness, double worstFitness,
+            double feasibleFraction, double diversity, long evaluations, long fitnessLookups,
+            long assessmentLookups, long assessments, long selectionNanos, long crossoverNanos, long mutationNanos, long repairNanos, long evaluationNanos) {
+        this.generation = generation;
+        this.meanFitness = meanFitness;
+        this.bestFitness = bestFitness;
+        this.worstFitness = worstFitness;
+        this.feasibleFraction = feasibleFraction;
+        this.diversity = diversity;
+        this.evaluations = evaluations;
+        this.fitnessLookups = fitnessLookups;
+        this.assessmentLookups = assessmentLookups;
+        this.assessments = assessments;
+        this.selectionNanos = selectionNanos;
+        this.crossoverNanos = crossoverNanos;
+        this.mutationNanos = mutationNanos;
+        this.repairNanos = repairNanos;
+        this.evaluationNanos = evaluationNanos;
+    }
+
+    //Number of generations completed, counting this one
+    public int getGeneration() {
+        return generation;
+    }
+
+    public double getMeanFitness() {
+        return meanFitness;
+    }
+
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    public double getWorstFitness() {
+        return worstFitness;
+    }
+
+    public double getFeasibleFraction() {
+        return feasibleFraction;
+    }
+
+    public double getDiversity() {
+        return diversity;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getFitnessLookups() {
+        return fitnessLookups;
+    }
+
+    public long getAssessmentLookups() {
+        return assessmentLookups;
+    }
+
+    public long getAssessments() {
+        return assessments;
+    }
+
+    //Fraction of assessment lookups already valid; NaN when nothing was assessed, as under CardinalityFitness
+    public double getAssessmentCacheHitRate() {
+        if (assessmentLookups == 0) {
+            return Double.NaN;
+        }
+        return (double) (assessmentLookups - assessments) / assessmentLookups;
+    }
+
+    public long getSelectionNanos() {
+        return selectionNanos;
+    }
+
+    public long getCrossoverNanos() {
+        return crossoverNanos;
+    }
+
+    public long getMutationNanos() {
+        return mutationNanos;
+    }
+
+    public long getRepairNanos() {
+        return repairNanos;
+    }
+
+    public long getEvaluationNanos() {
+        return evaluationNanos;
+    }
+
+}
@@ -0,0 +1,47 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Greedy left-to-right matching: each shortString character is selected if it 
+ * occurs in the longString after the previously selected one
+ * Always feasible, but every solution is the same
+ * With more than two strings, matching is against the first long string,
+ * then the result is repaired against the others.
+ *
+ */
+public class GreedyInitializer implements PopulationInitializer {
+
+    @Override
+    public BinarySolution createSolution(Population population, Random random) {
+        return greedyMatch(population, 0, 0, 0.0, random);
+    }
+
+    /*
+        Greedy matching of shortString[shortStart..] against longString[longStart..],
+        leaving each character out with probability skipRate
+     */
+    static BinarySolution greedyMatch(Population population, int shortStart, int longStart,
+            double skipRate, Random random) {
+        SubsequenceIndex longStringIndex = population.getLongStringIndex();
+        PackedCodes shortStringCodes = population.getShortStringCodes();
+        BinarySolution solution = new BinarySolution(shortStringCodes.length(), population);
+        int longStringIterator = longStart;
+        for (int i = shortStart; i < shortStringCodes.length() && longStringIterator < longStringIndex.length(); i++) {
+            if (skipRate > 0 && random.nextDouble() < skipRate) {
+                continue;
+            }
+            int match = longStringIndex.next(longStringIterator, shortStringCodes.get(i));
+            if (match < longStringIndex.length()) {
+                solution.set(i, true);
+                longStringIterator = match + 1;
+            }
+        }
+        if (population.getLongStringCount() > 1) {
+            solution.repair();
+        }
+        return solution;
+    }
+
+}
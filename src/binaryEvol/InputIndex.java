@@ -0,0 +1,128 @@
+package binaryEvol;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ *
+ * The strings of a problem, arranged and indexed once
+ * Solutions select from the shortString and must embed in every long string;
+ * each long string has a SubsequenceIndex, all in one set of codes, so the
+ * shortString is encoded once for all of them. Nothing changes after construction, so any number of
+ * populations, islands and concurrent runs can share one.
+ *
+ */
+public class InputIndex {
+
+    private final CharSequence shortString;
+    private final CharSequence[] longStrings;
+    private final SubsequenceIndex[] longStringIndexes;
+    private final PackedCodes shortStringCodes; //shortString in the indexes' shared codes
+    private final int lcsUpperBound;
+
+    //At least two strings; see arrangeStrings for which string is which
+    public InputIndex(CharSequence... strings) {
+        CharSequence[] arranged = arrangeStrings(strings);
+        this.shortString = arranged[0];
+        this.longStrings = Arrays.copyOfRange(arranged, 1, arranged.length);
+        this.longStringIndexes = new SubsequenceIndex[longStrings.length];
+        int[] symbolCodes = SubsequenceIndex.symbolCodes(arranged);
+        //Indexes are independent, so they are built side by side
+        IntStream.range(0, longStrings.length).parallel().forEach(s ->
+                longStringIndexes[s] = new SubsequenceIndex(longStrings[s], symbolCodes));
+        this.shortStringCodes = longStringIndexes[0].encodePacked(shortString);
+        this.lcsUpperBound = symbolCountBound();
+    }
+
+    /*
+        No common subsequence uses a symbol more often than the string with
+        the fewest of it holds, so the sum of those counts bounds its length.
+        Each character of the shortString is counted while every long string
+        still has one of it left.
+     */
+    private int symbolCountBound() {
+        int alphabetSize = longStringIndexes[0].getAlphabetSize();
+        int[][] available = new int[longStrings.length][alphabetSize];
+        for (int s = 0; s < longStrings.length; s++) {
+            SubsequenceIndex index = longStringIndexes[s];
+            for (int p = 0; p < index.length(); p++) {
+                available[s][index.codeAt(p)]++;
+            }
+        }
+        int bound = 0;
+        for (int i = 0; i < shortString.length(); i++) {
+            int code = shortStringCodes.get(i);
+            boolean everywhere = true;
+            for (int s = 0; s < longStrings.length && everywhere; s++) {
+                everywhere = available[s][code] > 0;
+            }
+            if (everywhere) {
+                for (int s = 0; s < longStrings.length; s++) {
+                    available[s][code]--;
+                }
+                bound++;
+            }
+        }
+        return bound;
+    }
+
+    /*
+        The strings with the shortString first: the shortest, or the first of
+        the shortest if several tie. The long strings follow in their given order.
+     */
+    static CharSequence[] arrangeStrings(CharSequence[] strings) {
+        if (strings.length < 2) {
+            throw new IllegalArgumentException("At least two strings are needed, not " + strings.length);
+        }
+        int shortest = 0;
+        for (int i = 1; i < strings.length; i++) {
+            if (strings[i].length() < strings[shortest].length()) {
+                shortest = i;
+            }
+        }
+        CharSequence[] arranged = new CharSequence[strings.length];
+        arranged[0] = strings[shortest];
+        for (int i = 0, next = 1; i < strings.length; i++) {
+            if (i != shortest) {
+                arranged[next++] = strings[i];
+            }
+        }
+        return arranged;
+    }
+
+    public CharSequence getShortString() {
+        return shortString;
+    }
+
+    //One less than the number of strings
+    public int getLongStringCount() {
+        return longStrings.length;
+    }
+
+    public CharSequence getLongString(int s) {
+        return longStrings[s];
+    }
+
+    public SubsequenceIndex getLongStringIndex(int s) {
+        return longStringIndexes[s];
+    }
+
+    //The shortString in the codes of every long string's index; shared, must not be modified
+    PackedCodes getShortStringCodes() {
+        return shortStringCodes;
+    }
+
+    //No common subsequence is longer; at most the length of the shortString
+    public int getLcsUpperBound() {
+        return lcsUpperBound;
+    }
+
+    //Every string, the shortString first, as arrangeStrings left them
+    public CharSequence[] getStrings() {
+        CharSequence[] strings = new CharSequence[longStrings.length + 1];
+        strings[0] = shortString;
+        System.arraycopy(longStrings, 0, strings, 1, longStrings.length);
+        return strings;
+    }
+
+}
@@ -0,0 +1,253 @@
+package binaryEvol;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ *
+ * Several populations over the same strings, evolved side by side on their own
+ * threads. At the end of every epoch (epochLength generations) each island sends
+ * clones of its fittest solutions to the islands the topology names, where they
+ * replace the least fit.
+ *
+ * Islands only interact at migration, so a run is reproducible from its seed.
+ * An epochLength of 0 never migrates; a single island is a plain Population.
+ *
+ */
+public class IslandModel {
+
+    private final Population[] islands;
+    private final MigrationTopology topology;
+    private final int migrants;
+    private final Random migrationRandom;
+    private final ExecutorService executor;
+
+    public IslandModel(CharSequence a, CharSequence b, int numberOfIslands, int islandSize, int epochLength,
+            int migrants, MigrationTopology topology, long seed) {
+        this(a, b, numberOfIslands, islandSize, epochLength, migrants, topology, seed, new RandomInitializer());
+    }
+
+    public IslandModel(CharSequence a, CharSequence b, int numberOfIslands, int islandSize, int epochLength,
+            int migrants, MigrationTopology topology, long seed, PopulationInitializer initializer) {
+        this(a, b, numberOfIslands, islandSize, epochLength, migrants, topology, seed, initializer,
+                RandomAlgorithm.forName("splitmix"));
+    }
+
+    //Every island, and migration, draws from generators of the given algorithm
+    public IslandModel(CharSequence a, CharSequence b, int numberOfIslands, int islandSize, int epochLength,
+            int migrants, MigrationTopology topology, long seed, PopulationInitializer initializer,
+            RandomAlgorithm randomAlgorithm) {
+        this(new CharSequence[]{a, b}, numberOfIslands, islandSize, epochLength, migrants, topology, seed,
+                initializer, randomAlgorithm);
+    }
+
+    //Over any number of strings; see Population
+    public IslandModel(CharSequence[] strings, int numberOfIslands, int islandSize, int epochLength,
+            int migrants, MigrationTopology topology, long seed, PopulationInitializer initializer,
+            RandomAlgorithm randomAlgorithm) {
+        this(new InputIndex(strings), numberOfIslands, islandSize, epochLength, migrants, topology, seed,
+                initializer, randomAlgorithm);
+    }
+
+    //Over an already indexed input, which every island shares
+    public IslandModel(InputIndex input, int numberOfIslands, int islandSize, int epochLength,
+            int migrants, MigrationTopology topology, long seed, PopulationInitializer initializer,
+            RandomAlgorithm randomAlgorithm) {
+        if (numberOfIslands < 1) {
+            throw new IllegalArgumentException("numberOfIslands must be at least 1: " + numberOfIslands);
+        }
+        this.topology = topology;
+        this.migrants = migrants;
+        this.migrationRandom = randomAlgorithm.create(seed);
+        this.islands = new Population[numberOfIslands];
+        //Island 0 uses the seed itself, the rest share its input
+        islands[0] = new Population(input, islandSize, epochLength, seed, initializer, randomAlgorithm);
+        for (int i = 1; i < numberOfIslands; i++) {
+            islands[i] = new Population(islands[0], islandSize, epochLength,
+                    seed + i * 0x9E3779B97F4A7C15L, initializer, randomAlgorithm);
+        }
+        this.executor = newExecutor(numberOfIslands);
+    }
+
+    //Resumes a model from a snapshot taken by snapshot()
+    public IslandModel(EvolutionSnapshot snapshot, int migrants, MigrationTopology topology) {
+        PopulationSnapshot[] saved = snapshot.getIslands();
+        this.topology = topology;
+        this.migrants = migrants;
+        this.islands = new Population[saved.length];
+        islands[0] = new Population(snapshot.getStrings(), saved[0]);
+        for (int i = 1; i < saved.length; i++) {
+            islands[i] = new Population(islands[0], saved[i]);
+        }
+        this.migrationRandom = PopulationSnapshot.loadRandom(snapshot.getMigrationRandomState());
+        this.executor = newExecutor(saved.length);
+    }
+
+    private static ExecutorService newExecutor(int numberOfIslands) {
+        return Executors.newFixedThreadPool(numberOfIslands, runnable -> {
+            Thread thread = new Thread(runnable, "island");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Population[] getIslands() {
+        return islands;
+    }
+
+    public int getGeneration() {
+        return islands[0].getGeneration();
+    }
+
+    //Sets the evaluation threads of every island
+    public void setThreadsPerIsland(int threads) {
+        for (Population island : islands) {
+            island.setThreads(threads);
+        }
+    }
+
+    //Sets the selection strategy of every island; see Population.setSelectionStrategy
+    public void setSelectionStrategy(SelectionStrategy selection) {
+        for (Population island : islands) {
+            island.setSelectionStrategy(selection);
+        }
+    }
+
+    //Sets the fitness function of every island; see Population.setFitnessFunction
+    public void setFitnessFunction(FitnessFunction fitnessFunction) {
+        for (Population island : islands) {
+            island.setFitnessFunction(fitnessFunction);
+        }
+    }
+
+    //Switches every island to steady-state evolution; see Population.setSteadyState
+    public void setSteadyState(boolean steadyState) {
+        for (Population island : islands) {
+            island.setSteadyState(steadyState);
+        }
+    }
+
+    //Switches the repair stage of every island; see Population.setRepairing
+    public void setRepairing(boolean repairing) {
+        for (Population island : islands) {
+            island.setRepairing(repairing);
+        }
+    }
+
+    public double getBestSolutionFitness() {
+        return islands[bestIsland()].getBestSolutionFitness();
+    }
+
+    //Best solution seen on any island; null before the first generation
+    public BinarySolution getBestSolution() {
+        return islands[bestIsland()].getBestSolution();
+    }
+
+    private int bestIsland() {
+        int best = 0;
+        for (int i = 1; i < islands.length; i++) {
+            if (islands[i].getBestSolutionFitness() > islands[best].getBestSolutionFitness()) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /*
+        Runs the given number of generations on every island, migrating at
+        each epoch boundary. Islands run in parallel between migrations.
+     */
+    public void runGenerations(int generations, int numberOfTournaments, int tournamentSize,
+            double crossoverRate, int crossoverPoints,
+            double mutationRate, int mutationMaxLength) {
+        int epochLength = islands[0].getEpochLength();
+        int remaining = generations;
+        while (remaining > 0) {
+            int steps = remaining;
+            if (epochLength > 0) {
+                steps = Math.min(steps, epochLength - getGeneration() % epochLength);
+            }
+            final int epochSteps = steps;
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (Population island : islands) {
+                tasks.add(() -> {
+                    for (int g = 0; g < epochSteps; g++) {
+                        island.runOneGeneration(numberOfTournaments, tournamentSize,
+                                crossoverRate, crossoverPoints, mutationRate, mutationMaxLength);
+                    }
+                    return null;
+                });
+            }
+            runAll(tasks);
+            remaining -= steps;
+
+            if (epochLength > 0 && getGeneration() % epochLength == 0) {
+                this.migrate();
+            }
+        }
+    }
+
+    private void runAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evolving islands", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island failed", e.getCause());
+        }
+    }
+
+    //All islands pick their emigrants before any island receives, in island order
+    private void migrate() {
+        if (islands.length < 2 || migrants < 1) {
+            return;
+        }
+        BinarySolution[][] emigrants = new BinarySolution[islands.length][];
+        for (int i = 0; i < islands.length; i++) {
+            emigrants[i] = islands[i].getTopSolutions(migrants);
+        }
+        List<List<BinarySolution>> arrivals = new ArrayList<>();
+        for (int i = 0; i < islands.length; i++) {
+            arrivals.add(new ArrayList<>());
+        }
+        for (int i = 0; i < islands.length; i++) {
+            for (int destination : topology.destinations(i, islands.length, migrationRandom)) {
+                for (BinarySolution emigrant : emigrants[i]) {
+                    arrivals.get(destination).add(emigrant);
+                }
+            }
+        }
+        for (int i = 0; i < islands.length; i++) {
+            List<BinarySolution> arriving = arrivals.get(i);
+            islands[i].receiveMigrants(arriving.toArray(new BinarySolution[arriving.size()]));
+        }
+    }
+
+    //Copies the state of every island; only call between generations
+    public EvolutionSnapshot snapshot(Properties parameters) {
+        PopulationSnapshot[] saved = new PopulationSnapshot[islands.length];
+        for (int i = 0; i < islands.length; i++) {
+            saved[i] = islands[i].snapshot();
+        }
+        return new EvolutionSnapshot(parameters, islands[0].getStrings(),
+                PopulationSnapshot.saveRandom(migrationRandom), saved);
+    }
+
+    //Stops the island threads and every island's evaluation pool
+    public void shutdown() {
+        executor.shutdown();
+        setThreadsPerIsland(1);
+    }
+
+}
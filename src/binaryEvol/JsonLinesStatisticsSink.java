@@ -0,0 +1,43 @@
+package binaryEvol;
+
+import java.io.PrintStream;
+
+/**
+ *
+ * StatisticsSink writing one JSON object per line, with the same fields as
+ * CsvStatisticsSink's columns
+ *
+ */
+public class JsonLinesStatisticsSink implements StatisticsSink {
+
+    private final PrintStream out;
+
+    public JsonLinesStatisticsSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public GenerationListener listener(String input, int island) {
+        String label = "{\"input\":" + BatchRunner.jsonString(input) + ",\"island\":" + island;
+        return statistics -> write(label, statistics);
+    }
+
+    private synchronized void write(String label, GenerationStatistics statistics) {
+        out.println(label
+                + ",\"generation\":" + statistics.getGeneration()
+                + ",\"meanFitness\":" + BatchRunner.jsonNumber(statistics.getMeanFitness())
+                + ",\"bestFitness\":" + BatchRunner.jsonNumber(statistics.getBestFitness())
+                + ",\"worstFitness\":" + BatchRunner.jsonNumber(statistics.getWorstFitness())
+                + ",\"feasibleFraction\":" + BatchRunner.jsonNumber(statistics.getFeasibleFraction())
+                + ",\"diversity\":" + BatchRunner.jsonNumber(statistics.getDiversity())
+                + ",\"evaluations\":" + statistics.getEvaluations()
+                + ",\"assessmentCacheHitRate\":" + BatchRunner.jsonNumber(statistics.getAssessmentCacheHitRate())
+                + ",\"selectionNanos\":" + statistics.getSelectionNanos()
+                + ",\"crossoverNanos\":" + statistics.getCrossoverNanos()
+                + ",\"mutationNanos\":" + statistics.getMutationNanos()
+                + ",\"repairNanos\":" + statistics.getRepairNanos()
+                + ",\"evaluationNanos\":" + statistics.getEvaluationNanos() + "}");
+        out.flush();
+    }
+
+}
@@ -1,8 +1,12 @@
 package binaryEvol;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -12,6 +16,13 @@ import java.util.Scanner;
  * 
  * Tested in Java 8.2
  * 
+ * Without arguments, prompts for everything on the console.
+ * With arguments, runs headless; see BatchRunner and RunConfiguration:
+ *     [--config run.properties] [--output results.jsonl] [--statistics generations.csv]
+ *     input1.txt input2.txt ...
+ * or, for a ParameterSweep, with the summary table as output:
+ *     --sweep sweep.properties [--output summary.csv] [--statistics generations.csv]
+ *     input1.txt input2.txt ...
  * 
  */
 public class Main {
@@ -136,9 +147,24 @@ public class Main {
                 //Do nothing
             }
         }
+
+        int threads = -1;
+        int cores = Runtime.getRuntime().availableProcessors();
+        while (threads < 1) {
+            System.out.println("Please enter number of worker threads for evaluation (Int, min: 1, recommended: " + cores + ")");
+            try {
+                threads = Integer.parseInt(keyboard.nextLine());
+            } catch (Exception e) {
+                //Do nothing
+            }
+        }
         
         //Initialize population & run according to provided parameters
         Population pop = new Population(a, b, popSize, 500);
+        pop.setThreads(threads);
+        System.out.println("Seed: " + pop.getSeed());
+        Population[] islands = {pop};
+        TerminationCriterion optimal = new OptimalityBound(pop.getInput());
         while (true) {
 
             int generations = 0;
@@ -163,6 +189,11 @@ public class Main {
                     pop.textDisplay();
                 }
                 i++;
+                if (optimal.check(islands) != null) {
+                    pop.textDisplay();
+                    System.out.println("Best solution is as long as a common subsequence can be. Done.");
+                    System.exit(0);
+                }
             }
             pop.textDisplay();
         }
@@ -170,7 +201,80 @@ public class Main {
     }
 
 
+    public static void initiateFromArguments(String[] args) {
+        File configFile = null;
+        File sweepFile = null;
+        File outputFile = null;
+        File statisticsFile = null;
+        List<File> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ((args[i].equals("--config") || args[i].equals("--sweep") || args[i].equals("--output")
+                    || args[i].equals("--statistics")) && i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            } else if (args[i].equals("--config")) {
+                configFile = new File(args[++i]);
+            } else if (args[i].equals("--sweep")) {
+                sweepFile = new File(args[++i]);
+            } else if (args[i].equals("--output")) {
+                outputFile = new File(args[++i]);
+            } else if (args[i].equals("--statistics")) {
+                statisticsFile = new File(args[++i]);
+            } else if (args[i].startsWith("--")) {
+                usage("Unknown option " + args[i]);
+            } else {
+                inputs.add(new File(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            usage("No input files");
+        }
+        if (configFile != null && sweepFile != null) {
+            usage("--config and --sweep cannot be combined");
+        }
+
+        RunConfiguration config = null;
+        ParameterSweep sweep = null;
+        try {
+            if (sweepFile != null) {
+                sweep = ParameterSweep.load(sweepFile);
+            } else {
+                config = (configFile == null) ? new RunConfiguration() : RunConfiguration.load(configFile);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            usage("Bad configuration: " + e.getMessage());
+        }
+
+        int failures;
+        //Only the files opened here are closed; System.out is left open, and flushed
+        try (PrintStream outputOut = (outputFile == null) ? null
+                : new PrintStream(new FileOutputStream(outputFile), false, "UTF-8");
+                PrintStream statisticsOut = (statisticsFile == null) ? null
+                : new PrintStream(new FileOutputStream(statisticsFile), false, "UTF-8")) {
+            PrintStream out = (outputOut == null) ? System.out : outputOut;
+            StatisticsSink statistics = (statisticsFile == null) ? null
+                    : StatisticsSink.forFileName(statisticsFile.getName(), statisticsOut);
+            failures = (sweep != null) ? sweep.run(inputs, out, statistics)
+                    : new BatchRunner(config, out, statistics).runAll(inputs);
+        } catch (IOException e) {
+            System.err.println("Failed to open output or statistics file: " + e.getMessage());
+            failures = inputs.size();
+        }
+        System.out.flush();
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: [--config run.properties | --sweep sweep.properties] "
+                + "[--output results.jsonl] [--statistics generations.csv] input1.txt input2.txt ...");
+        System.exit(2);
+    }
+
     public static void main(String[] args) {
-        initiateFromConsole();
+        if (args.length == 0) {
+            initiateFromConsole();
+        } else {
+            initiateFromArguments(args);
+        }
     }
 }
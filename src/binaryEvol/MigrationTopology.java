@@ -0,0 +1,30 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Decides where each island of an IslandModel sends its emigrants
+ * Asked once per island at every migration
+ *
+ */
+public interface MigrationTopology {
+
+    //Islands that island sends its emigrants to; never island itself
+    public abstract int[] destinations(int island, int islands, Random random);
+
+    //ring, full or random, as named in a RunConfiguration
+    public static MigrationTopology forName(String name) {
+        switch (name) {
+            case "ring":
+                return new RingTopology();
+            case "full":
+                return new FullyConnectedTopology();
+            case "random":
+                return new RandomTopology();
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + name);
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package binaryEvol;
+
+/**
+ *
+ * (mu + lambda) survivor selection with mu = lambda = the population size:
+ * every solution is a parent, and after variation the fittest of parents and
+ * offspring together survive. Elitist; the best solution is never lost.
+ *
+ */
+public class MuPlusLambdaSelection implements SelectionStrategy {
+
+    @Override
+    public void selectParents(Population population) {
+        population.saveParents();
+    }
+
+    /*
+        Survivors are the n fittest of the 2n; ties go to the offspring. Each 
+        surviving parent takes the slot of an offspring that did not survive.
+     */
+    @Override
+    public void selectSurvivors(Population population) {
+        int n = population.size();
+        int[] offspring = population.rankByFitness(); //Least fit first
+        int[] parents = population.rankParents(); //Least fit first
+        //Merge from the top: whichever of the two fittest remaining is fitter survives
+        int o = n - 1;
+        int p = n - 1;
+        for (int survivors = 0; survivors < n; survivors++) {
+            if (o >= 0 && population.fitnessAt(offspring[o]) >= population.parentFitness(parents[p])) {
+                o--;
+            } else {
+                p--;
+            }
+        }
+        //Offspring [0, o] lost, parents (p, n) survived; as many of one as the other
+        for (int i = 0; i <= o; i++) {
+            population.copyParent(parents[n - 1 - i], offspring[i]);
+        }
+    }
+
+}
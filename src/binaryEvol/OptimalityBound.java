@@ -0,0 +1,34 @@
+package binaryEvol;
+
+/**
+ *
+ * Stops a run once an island's best solution is feasible and as long as an
+ * upper bound on the length of any common subsequence, so provably optimal
+ * With the bound of an InputIndex, this catches every solution that selects
+ * all of the shortString, and whatever else the symbol counts already settle.
+ *
+ */
+public class OptimalityBound implements TerminationCriterion {
+
+    private final int upperBound;
+
+    public OptimalityBound(int upperBound) {
+        this.upperBound = upperBound;
+    }
+
+    public OptimalityBound(InputIndex input) {
+        this(input.getLcsUpperBound());
+    }
+
+    @Override
+    public String check(Population[] islands) {
+        for (Population island : islands) {
+            BinarySolution best = island.getBestSolution();
+            if (best != null && best.isFeasible() && best.cardinality() >= upperBound) {
+                return "optimal";
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,55 @@
+package binaryEvol;
+
+/**
+ *
+ * A sequence of symbol codes, packed 1, 2, 4, 8 or 16 bits each into longs
+ * The width is the smallest power of two that holds every code of the
+ * alphabet, so no code straddles two words: two bits a base for DNA, a byte a
+ * character for text. Codes are widened to int only as they are read.
+ *
+ */
+public class PackedCodes {
+
+    private final int length;
+    //codeBits each, 64 / codeBits to a word
+    private final int codeBits;
+    private final int codesPerWordShift;
+    private final long codeMask;
+    private final long[] words;
+
+    //All codes start at zero
+    public PackedCodes(int alphabetSize, int length) {
+        int bits = 1;
+        while ((1L << bits) < alphabetSize) {
+            bits <<= 1;
+        }
+        this.length = length;
+        this.codeBits = bits;
+        this.codesPerWordShift = Integer.numberOfTrailingZeros(64 / bits);
+        this.codeMask = (1L << bits) - 1;
+        this.words = new long[(int) (((long) length * bits + 63) >>> 6)];
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int getCodeBits() {
+        return codeBits;
+    }
+
+    public int get(int position) {
+        return (int) ((words[position >>> codesPerWordShift] >>> codeOffset(position)) & codeMask);
+    }
+
+    public void set(int position, int code) {
+        int w = position >>> codesPerWordShift;
+        int shift = codeOffset(position);
+        words[w] = (words[w] & ~(codeMask << shift)) | ((long) code << shift);
+    }
+
+    private int codeOffset(int position) {
+        return (position & ((1 << codesPerWordShift) - 1)) * codeBits;
+    }
+
+}
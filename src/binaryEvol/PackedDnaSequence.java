@@ -0,0 +1,80 @@
+package binaryEvol;
+
+/**
+ *
+ * A sequence over A, C, G and T packed two bits per base, 32 bases to a long:
+ * a quarter of a byte per character, an eighth of a String
+ *
+ */
+public class PackedDnaSequence implements CharSequence {
+
+    private static final String BASES = "ACGT";
+
+    private final long[] words;
+    private final int length;
+
+    //Packs source, which must hold nothing but A, C, G and T; see isPackable
+    public PackedDnaSequence(CharSequence source) {
+        this.length = source.length();
+        this.words = new long[(length + 31) >>> 5];
+        for (int i = 0; i < length; i++) {
+            int base = BASES.indexOf(source.charAt(i));
+            if (base < 0) {
+                throw new IllegalArgumentException("Not a base at " + i + ": " + source.charAt(i));
+            }
+            words[i >>> 5] |= (long) base << ((i & 31) << 1);
+        }
+    }
+
+    private PackedDnaSequence(long[] words, int length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    //True if every character is one of A, C, G and T
+    public static boolean isPackable(CharSequence source) {
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c != 'A' && c != 'C' && c != 'G' && c != 'T') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return BASES.charAt((int) (words[index >>> 5] >>> ((index & 31) << 1)) & 3);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        long[] sub = new long[(end - start + 31) >>> 5];
+        for (int i = start; i < end; i++) {
+            long base = (words[i >>> 5] >>> ((i & 31) << 1)) & 3;
+            sub[(i - start) >>> 5] |= base << (((i - start) & 31) << 1);
+        }
+        return new PackedDnaSequence(sub, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+}
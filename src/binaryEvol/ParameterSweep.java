@@ -0,0 +1,300 @@
+package binaryEvol;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ *
+ * Many independent runs over the same inputs, one per combination of
+ * parameter values, run side by side on a bounded pool of threads
+ *
+ * A sweep file is a RunConfiguration file in which any parameter may list
+ * several values, separated by commas; every combination of the listed values
+ * is a run (a grid search), or, with sweep.samples, that many combinations
+ * drawn at random from the grid without repeats, using sweep.seed (a random
+ * search). List seeds to repeat each combination with different seeds.
+ * sweep.parallelRuns runs go at once, by default one per processor; each run
+ * also uses its own islands and threads, so threads=1 usually suits a sweep.
+ *
+ * Each input is read and indexed once, and that InputIndex is shared by every
+ * run over it. As runs finish, they are written to the summary, a CSV table
+ * with one row per run: the input, the run's number in the grid, the swept
+ * parameters, then the run's results, from its actual seed (runSeed: the
+ * seed plus the input's position, as in BatchRunner). Rows come in the order
+ * runs finish.
+ *
+ */
+public class ParameterSweep {
+
+    private static final String SAMPLES = "sweep.samples";
+    private static final String SAMPLING_SEED = "sweep.seed";
+    private static final String PARALLEL_RUNS = "sweep.parallelRuns";
+
+    //Parameters with a single value, and those with several, in name order
+    private final Properties fixed = new Properties();
+    private final TreeMap<String, List<String>> axes = new TreeMap<>();
+    private int samples = 0;
+    private long samplingSeed = 0;
+    private int parallelRuns = Runtime.getRuntime().availableProcessors();
+
+    public static ParameterSweep load(File file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(file)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    //Fails on any combination that is not a valid RunConfiguration
+    public static ParameterSweep fromProperties(Properties properties) {
+        ParameterSweep sweep = new ParameterSweep();
+        try {
+            for (String key : properties.stringPropertyNames()) {
+                String value = properties.getProperty(key).trim();
+                switch (key) {
+                    case SAMPLES:
+                        sweep.samples = Integer.parseInt(value);
+                        break;
+                    case SAMPLING_SEED:
+                        sweep.samplingSeed = Long.parseLong(value);
+                        break;
+                    case PARALLEL_RUNS:
+                        sweep.parallelRuns = Integer.parseInt(value);
+                        break;
+                    default:
+                        List<String> values = new ArrayList<>();
+                        for (String v : value.split(",")) {
+                            values.add(v.trim());
+                        }
+                        if (values.size() == 1) {
+                            sweep.fixed.setProperty(key, values.get(0));
+                        } else {
+                            sweep.axes.put(key, values);
+                        }
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad sweep setting: " + e.getMessage(), e);
+        }
+        if (sweep.samples < 0 || sweep.parallelRuns < 1) {
+            throw new IllegalArgumentException(SAMPLES + " must not be negative, " + PARALLEL_RUNS + " at least 1");
+        }
+        //Without a seed, every configuration would take the time it was made
+        if (!sweep.fixed.containsKey("seed") && !sweep.axes.containsKey("seed")) {
+            sweep.fixed.setProperty("seed", String.valueOf(System.currentTimeMillis()));
+        }
+        //Every run shares each input as read once
+        if (sweep.axes.containsKey("inputEncoding") || sweep.axes.containsKey("strings")) {
+            throw new IllegalArgumentException("inputEncoding and strings cannot be swept");
+        }
+        sweep.configurations();
+        return sweep;
+    }
+
+    //Names of the swept parameters, in the order of the summary's columns
+    public List<String> getSweptParameters() {
+        return new ArrayList<>(axes.keySet());
+    }
+
+    public int getParallelRuns() {
+        return parallelRuns;
+    }
+
+    //Number of combinations in the full grid, or Long.MAX_VALUE if more
+    public long gridSize() {
+        long size = 1;
+        for (List<String> values : axes.values()) {
+            if (size > Long.MAX_VALUE / values.size()) {
+                return Long.MAX_VALUE;
+            }
+            size *= values.size();
+        }
+        return size;
+    }
+
+    /*
+        Grid positions of the runs, in increasing order: all of them, or a
+        random sample drawn with Floyd's algorithm
+     */
+    private long[] runPositions() {
+        long size = gridSize();
+        if (samples == 0 || samples >= size) {
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Grid of " + size + " runs is too large; set " + SAMPLES);
+            }
+            long[] positions = new long[(int) size];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = i;
+            }
+            return positions;
+        }
+        SplitMix64Random random = new SplitMix64Random(samplingSeed);
+        Set<Long> drawn = new HashSet<>();
+        for (long j = size - samples; j < size; j++) {
+            long candidate = Math.floorMod(random.nextLong(), j + 1);
+            drawn.add(drawn.contains(candidate) ? j : candidate);
+        }
+        long[] positions = new long[samples];
+        int i = 0;
+        for (long position : drawn) {
+            positions[i++] = position;
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    //Values of the swept parameters at a grid position; the first parameter varies slowest
+    private Map<String, String> combination(long position) {
+        Map<String, String> combination = new TreeMap<>();
+        for (Map.Entry<String, List<String>> axis : axes.descendingMap().entrySet()) {
+            List<String> values = axis.getValue();
+            combination.put(axis.getKey(), values.get((int) (position % values.size())));
+            position /= values.size();
+        }
+        return combination;
+    }
+
+    private RunConfiguration configuration(Map<String, String> combination) {
+        Properties properties = new Properties();
+        properties.putAll(fixed);
+        properties.putAll(combination);
+        return RunConfiguration.fromProperties(properties);
+    }
+
+    //One configuration per run, in grid order
+    public List<RunConfiguration> configurations() {
+        List<RunConfiguration> configurations = new ArrayList<>();
+        for (long position : runPositions()) {
+            configurations.add(configuration(combination(position)));
+        }
+        return configurations;
+    }
+
+    /*
+        Runs the sweep over each input in turn, writing the summary as runs
+        finish; statistics may be null. Returns the number of runs that failed.
+        Runs over an input that cannot be read all count as failed.
+     */
+    public int run(List<File> inputs, PrintStream summary, StatisticsSink statistics) {
+        long[] positions = runPositions();
+        RunConfiguration base = configuration(combination(0));
+        SummaryTable table = new SummaryTable(summary);
+        ExecutorService pool = Executors.newFixedThreadPool(parallelRuns, runnable -> {
+            Thread thread = new Thread(runnable, "sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int failures = 0;
+        try {
+            for (int i = 0; i < inputs.size(); i++) {
+                String path = inputs.get(i).getPath();
+                InputIndex input;
+                try {
+                    input = new InputIndex(BatchRunner.readStrings(inputs.get(i), base.inputEncoding, base.strings));
+                } catch (IOException | RuntimeException e) {
+                    for (long position : positions) {
+                        table.write(path, position, combination(position), 0, null, e);
+                    }
+                    failures += positions.length;
+                    continue;
+                }
+
+                List<Future<Boolean>> runs = new ArrayList<>();
+                int inputNumber = i;
+                for (long position : positions) {
+                    Map<String, String> combination = combination(position);
+                    runs.add(pool.submit(() -> {
+                        RunConfiguration config = configuration(combination);
+                        long seed = config.seed + inputNumber;
+                        try {
+                            //Numbered, so runs checkpointing at once use separate snapshots
+                            RunResult result = new BatchRunner(config, summary, statistics)
+                                    .evolve(path + "#" + position, input, seed);
+                            table.write(path, position, combination, seed, result, null);
+                            return true;
+                        } catch (IOException | RuntimeException e) {
+                            //As in BatchRunner.runAll, one failed run does not end the sweep
+                            table.write(path, position, combination, seed, null, e);
+                            return false;
+                        }
+                    }));
+                }
+                for (Future<Boolean> run : runs) {
+                    if (!run.get()) {
+                        failures++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sweeping", e);
+        } catch (ExecutionException e) {
+            //Only Errors escape a run; other runs share the heap, so the sweep ends with it
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Sweep run failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return failures;
+    }
+
+    //CSV rows, written whole by one run at a time, with a header before the first
+    private class SummaryTable {
+
+        private final PrintStream out;
+        private boolean headerWritten = false;
+
+        SummaryTable(PrintStream out) {
+            this.out = out;
+        }
+
+        synchronized void write(String input, long position, Map<String, String> combination,
+                long seed, RunResult result, Exception error) {
+            if (!headerWritten) {
+                StringBuilder header = new StringBuilder("input,run");
+                for (String parameter : axes.keySet()) {
+                    header.append(',').append(CsvStatisticsSink.csvField(parameter));
+                }
+                header.append(",runSeed,generations,elapsedMillis,stopReason,bestFitness,feasible,cardinality,error");
+                out.println(header);
+                headerWritten = true;
+            }
+            StringBuilder row = new StringBuilder(CsvStatisticsSink.csvField(input)).append(',').append(position);
+            for (String value : combination.values()) {
+                row.append(',').append(CsvStatisticsSink.csvField(value));
+            }
+            row.append(',').append(seed);
+            if (result != null) {
+                row.append(',').append(result.getGenerations())
+                        .append(',').append(result.getElapsedMillis())
+                        .append(',').append(result.getStopReason())
+                        .append(',').append(result.hasSolution() ? String.valueOf(result.getBestFitness()) : "")
+                        .append(',').append(result.hasSolution() ? String.valueOf(result.isFeasible()) : "")
+                        .append(',').append(result.hasSolution() ? String.valueOf(result.getCardinality()) : "")
+                        .append(',');
+            } else {
+                row.append(",,,,,,,").append(CsvStatisticsSink.csvField(BatchRunner.errorMessage(error)));
+            }
+            out.println(row);
+            out.flush();
+        }
+    }
+
+}
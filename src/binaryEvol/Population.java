@@ -1,7 +1,18 @@
 package binaryEvol;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
 
 /**
 *
@@ -14,31 +25,145 @@ import java.util.Random;
 public class Population {
 
     private BinarySolution[] population; //solutions
-    private String shortString = "";
-    private String longString = "";
+    //Cached fitness under the default fitness function, parallel to population
+    //An entry is valid while its solution's modCount matches the one recorded
+    private double[] fitness;
+    private int[] fitnessModCount;
+    //The strings and their indexes, shared by every solution and island
+    private final InputIndex input;
     private final int fuzzyMatchingSearchRange = 5;
+    private boolean incrementalAssessment = true;
+    private boolean repairing = false;
     private int generation = 0;
     private int epochLength = 0;
     private FitnessFunction test = new SimpleFuzzyFitness();
-    Random random = new Random(System.currentTimeMillis());
-    private BinarySolution bestSolution;
-    private double bestSolutionFitness = Double.MIN_VALUE;
+    //null for the kill-worst/clone-best tournaments runOneGeneration is given
+    private SelectionStrategy selection;
+    //Set while runOneGeneration runs the steady-state engine instead
+    private SteadyStateEngine steadyState;
+    private final long seed;
+    private Random random;
+    private BinarySolution bestSolution; //null before the first generation, then bestStorage
+    private BinarySolution bestStorage; //Allocated with the arenas and overwritten by each new best
+    private double bestSolutionFitness = Double.NEGATIVE_INFINITY;
+
+    //Evaluation and mutation are spread over this pool when threads > 1
+    private int threads = 1;
+    private ForkJoinPool workers;
+
+    //Reused by the selection primitives: the last sample, the stamp of the sample
+    //each index was last drawn in, and a second set of solutions to copy into
+    private int[] sample = new int[0];
+    private int[] sampledAt = new int[0];
+    private int sampleStamp = 0;
+    private int[] order = new int[0]; //Crossover partners, by shuffledOrder
+    private int[] copySources = new int[0]; //Lent out by copySources for replaceWithCopies
+    private BinarySolution[] spare;
+    private double[] spareFitness;
+    private int[] spareFitnessModCount;
+    //Parents saved by saveParents, for survivor selection
+    private BinarySolution[] parents = new BinarySolution[0];
+    private double[] parentFitness = new double[0];
+    //Ranking buffers, reused every generation
+    private int[] ranking = new int[0];
+    private int[] parentRanking = new int[0];
+    private int[] rankScratch = new int[0];
+
+    //Statistics are only gathered while there are listeners
+    private final List<GenerationListener> listeners = new ArrayList<>();
+    private final LongAdder fitnessLookups = new LongAdder();
+    private final LongAdder fitnessEvaluations = new LongAdder();
+    //Tiers asked of solutions' assessments, and how many of those were not already valid
+    private final LongAdder assessmentLookups = new LongAdder();
+    private final LongAdder assessments = new LongAdder();
+    //The four counters above when the current generation started
+    private final long[] countersBefore = new long[4];
+    //Pairs of solutions compared for the diversity estimate
+    private static final int DIVERSITY_SAMPLES = 64;
 
 ///////////////////////////   INITIALIZATION   ///////////////////////////////
-    public Population(String a, String b, int size, int epochLength) {
-        if (a.length() > b.length()) {
-            longString = a;
-            shortString = b;
-        } else {
-            longString = b;
-            shortString = a;
-        }
-        this.population = new BinarySolution[size];
+    public Population(CharSequence a, CharSequence b, int size, int epochLength) {
+        this(a, b, size, epochLength, System.currentTimeMillis());
+    }
+
+    //The same seed reproduces the same run, regardless of the thread count
+    public Population(CharSequence a, CharSequence b, int size, int epochLength, long seed) {
+        this(a, b, size, epochLength, seed, new RandomInitializer());
+    }
+
+    public Population(CharSequence a, CharSequence b, int size, int epochLength, long seed,
+            PopulationInitializer initializer) {
+        this(a, b, size, epochLength, seed, initializer, RandomAlgorithm.forName("splitmix"));
+    }
+
+    public Population(CharSequence a, CharSequence b, int size, int epochLength, long seed,
+            PopulationInitializer initializer, RandomAlgorithm randomAlgorithm) {
+        this(new CharSequence[]{a, b}, size, epochLength, seed, initializer, randomAlgorithm);
+    }
+
+    /*
+        Common subsequences of any number of strings, at least two: solutions
+        select from the shortest and must embed in all the others.
+        See InputIndex.arrangeStrings for which string is which.
+     */
+    public Population(CharSequence[] strings, int size, int epochLength, long seed,
+            PopulationInitializer initializer, RandomAlgorithm randomAlgorithm) {
+        this(new InputIndex(strings), size, epochLength, seed, initializer, randomAlgorithm);
+    }
+
+    //A population over an already indexed input, which it shares
+    public Population(InputIndex input, int size, int epochLength, long seed,
+            PopulationInitializer initializer, RandomAlgorithm randomAlgorithm) {
+        this.seed = seed;
+        this.random = randomAlgorithm.create(seed);
+        this.input = input;
+        this.initialize(size, epochLength, initializer);
+    }
+
+    //A new population over the same strings as source, sharing its indexes
+    public Population(Population source, int size, int epochLength, long seed) {
+        this(source, size, epochLength, seed, new RandomInitializer());
+    }
+
+    public Population(Population source, int size, int epochLength, long seed,
+            PopulationInitializer initializer) {
+        this(source, size, epochLength, seed, initializer, RandomAlgorithm.forName("splitmix"));
+    }
+
+    public Population(Population source, int size, int epochLength, long seed,
+            PopulationInitializer initializer, RandomAlgorithm randomAlgorithm) {
+        this.seed = seed;
+        this.random = randomAlgorithm.create(seed);
+        this.input = source.input;
+        this.incrementalAssessment = source.incrementalAssessment;
+        this.repairing = source.repairing;
+        this.initialize(size, epochLength, initializer);
+    }
+
+    //Restores a population from a snapshot, over the given strings
+    public Population(CharSequence a, CharSequence b, PopulationSnapshot snapshot) {
+        this(new CharSequence[]{a, b}, snapshot);
+    }
+
+    public Population(CharSequence[] strings, PopulationSnapshot snapshot) {
+        this(strings, 0, snapshot.getEpochLength(), snapshot.getSeed(), new RandomInitializer(),
+                RandomAlgorithm.forName("splitmix"));
+        this.restore(snapshot);
+    }
+
+    //Restores a population from a snapshot, over the same strings as source
+    public Population(Population source, PopulationSnapshot snapshot) {
+        this(source, 0, snapshot.getEpochLength(), snapshot.getSeed());
+        this.restore(snapshot);
+    }
+
+    private void initialize(int size, int epochLength, PopulationInitializer initializer) {
+        this.allocateStorage(size);
         this.epochLength = epochLength;
 
         for (int i = 0; i < size; i++) {
-            population[i] = this.randomBitSet(shortString.length());
-
+            population[i].copyFrom(initializer.createSolution(this, random));
+            invalidateFitness(i);
         }
 
 //        System.out.print("Initialized population");
@@ -48,30 +173,138 @@ public class Population {
     public BinarySolution randomBitSet(int length) {
 
         BinarySolution bitSet = new BinarySolution(length, this);
-        for (int i = 0; i < length; i++) {
-            bitSet.set(i, random.nextBoolean());
-        }
-        String bitString = bitSetToString(bitSet);
-//        System.out.println(bitString);
-//        System.out.println("Length: " + bitString.length());
+        bitSet.randomize(random);
         return bitSet;
     }
 
+    /*
+        Genomes live in two preallocated arenas, each one long[] holding every
+        genome back to back; the solutions in population and spare are views 
+        into them. Operators that rebuild the population copy into the spare
+        views and swap the two sets, so no genome is ever allocated while
+        evolving, and after a swap population[i] sits at position i again.
+     */
+    private void allocateStorage(int size) {
+        int length = input.getShortString().length();
+        int stride = BinarySolution.wordsFor(length);
+        long[] arena = new long[size * stride];
+        long[] spareArena = new long[size * stride];
+        this.population = new BinarySolution[size];
+        this.spare = new BinarySolution[size];
+        for (int i = 0; i < size; i++) {
+            population[i] = new BinarySolution(length, this, arena, i * stride);
+            spare[i] = new BinarySolution(length, this, spareArena, i * stride);
+        }
+        this.fitness = new double[size];
+        this.fitnessModCount = new int[size];
+        Arrays.fill(fitnessModCount, -1);
+        this.spareFitness = new double[size];
+        this.spareFitnessModCount = new int[size];
+        this.bestStorage = new BinarySolution(length, this);
+    }
+
 //////////////////////////////   ACCESSORS   ///////////////////////////////////           
     public int getSearchRange() {
         return this.fuzzyMatchingSearchRange;
     }
 
+    public boolean isIncrementalAssessment() {
+        return incrementalAssessment;
+    }
+
+    //Incremental assessment gives the same results as a full rescan, but
+    //keeps checkpoints of the fuzzy matching state in each infeasible solution
+    public void setIncrementalAssessment(boolean incrementalAssessment) {
+        this.incrementalAssessment = incrementalAssessment;
+    }
+
+    public boolean isRepairing() {
+        return repairing;
+    }
+
+    //When repairing, every solution is made feasible after mutation, so the
+    //fitness never needs the fuzzy assessment; otherwise infeasible solutions
+    //are kept and scored by fuzzy matching
+    public void setRepairing(boolean repairing) {
+        this.repairing = repairing;
+    }
+
+    public FitnessFunction getFitnessFunction() {
+        return test;
+    }
+
+    //Replaces the default SimpleFuzzyFitness, and drops the fitness cached
+    //under it; the best solution so far keeps its old score, so set this
+    //before the first generation
+    public void setFitnessFunction(FitnessFunction fitnessFunction) {
+        this.test = fitnessFunction;
+        Arrays.fill(fitnessModCount, -1);
+    }
+
+    public SelectionStrategy getSelectionStrategy() {
+        return selection;
+    }
+
+    //Replaces the default tournaments; runOneGeneration's numberOfTournaments
+    //and tournamentSize then go unused. null restores the default
+    public void setSelectionStrategy(SelectionStrategy selection) {
+        this.selection = selection;
+    }
+
+    public boolean isSteadyState() {
+        return steadyState != null;
+    }
+
+    //Switches runOneGeneration to a SteadyStateEngine over the worker threads;
+    //numberOfTournaments and any selection strategy then go unused
+    public void setSteadyState(boolean steadyState) {
+        this.steadyState = steadyState ? new SteadyStateEngine(this) : null;
+    }
+
+    //Entries are views into the population's storage, reused every generation;
+    //deepClone any solution that must outlive the current one, and change
+    //entries in place (copyFrom) rather than replacing them
     public BinarySolution[] getPopulation() {
         return population;
     }
 
-    public String getShortString() {
-        return shortString;
+    public InputIndex getInput() {
+        return input;
+    }
+
+    public CharSequence getShortString() {
+        return input.getShortString();
+    }
+
+    //The first long string; with two strings, the longer
+    public CharSequence getLongString() {
+        return input.getLongString(0);
+    }
+
+    public SubsequenceIndex getLongStringIndex() {
+        return input.getLongStringIndex(0);
+    }
+
+    PackedCodes getShortStringCodes() {
+        return input.getShortStringCodes();
     }
 
-    public String getLongString() {
-        return longString;
+    //One less than the number of strings
+    public int getLongStringCount() {
+        return input.getLongStringCount();
+    }
+
+    public CharSequence getLongString(int s) {
+        return input.getLongString(s);
+    }
+
+    public SubsequenceIndex getLongStringIndex(int s) {
+        return input.getLongStringIndex(s);
+    }
+
+    //Every string, the shortString first
+    public CharSequence[] getStrings() {
+        return input.getStrings();
     }
 
     public int getGeneration() {
@@ -82,19 +315,193 @@ public class Population {
         return epochLength;
     }
 
+    //Best solution seen at the end of any generation so far; null before the first generation
+    //Overwritten in place when a better one is found, so copy it to keep it
+    public BinarySolution getBestSolution() {
+        return bestSolution;
+    }
+
+    public double getBestSolutionFitness() {
+        return bestSolutionFitness;
+    }
+
+    //Mean Hamming distance between solutions, as reported in GenerationStatistics
+    public double getDiversity() {
+        return this.sampledDiversity();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    //Sets the number of worker threads used for evaluation and mutation
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        }
+        if (workers != null) {
+            workers.shutdown();
+            workers = null;
+        }
+        this.threads = threads;
+        if (threads > 1) {
+            workers = new ForkJoinPool(threads);
+        }
+    }
+
+    public void addGenerationListener(GenerationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGenerationListener(GenerationListener listener) {
+        listeners.remove(listener);
+    }
+
+//////////////////////////////   PARALLELISM   ////////////////////////////////
+    //Runs action once for each index in the population, in parallel if configured
+    //Actions on different indices must be independent of each other
+    private void forEachSolution(IntConsumer action) {
+        if (workers == null) {
+            for (int i = 0; i < population.length; i++) {
+                action.accept(i);
+            }
+        } else {
+            workers.submit(() -> IntStream.range(0, population.length).parallel().forEach(action)).join();
+        }
+    }
+
+    //Runs action once for each worker thread, on that many threads if configured
+    void forEachWorker(IntConsumer action) {
+        if (workers == null) {
+            action.accept(0);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(threads);
+        for (int w = 0; w < threads; w++) {
+            int worker = w;
+            tasks.add(workers.submit(() -> action.accept(worker)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /*
+        Returns the lowest long string index for which test fails, or -1 if it
+        holds for all of them. With worker threads and several long strings, 
+        tests run in parallel, so they must be independent of each other; 
+        the result is the same either way.
+     */
+    int firstFailingLongString(IntPredicate test) {
+        int count = input.getLongStringCount();
+        if (workers == null || count < 2) {
+            for (int s = 0; s < count; s++) {
+                if (!test.test(s)) {
+                    return s;
+                }
+            }
+            return -1;
+        }
+        IntSupplier search = () -> IntStream.range(0, count).parallel()
+                .filter(s -> !test.test(s)).findFirst().orElse(-1);
+        //Already on a worker (as in evaluateAll), the stream runs in the pool by itself
+        Thread current = Thread.currentThread();
+        if (current instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) current).getPool() == workers) {
+            return search.getAsInt();
+        }
+        return workers.submit(() -> search.getAsInt()).join();
+    }
+
+    //The shared generator, for operators that run on the calling thread
+    Random getRandom() {
+        return random;
+    }
+
+    /*
+        One random stream per solution, split from the shared generator (or, 
+        for a java.util.Random, seeded from it). Streams are tied to population
+        indices rather than threads, keeping results independent of scheduling.
+     */
+    private Random[] randomStreams() {
+        return randomStreams(population.length);
+    }
+
+    Random[] randomStreams(int count) {
+        Random[] streams = new Random[count];
+        if (random instanceof FastRandom) {
+            for (int i = 0; i < streams.length; i++) {
+                streams[i] = ((FastRandom) random).split();
+            }
+        } else {
+            SplittableRandom seeds = new SplittableRandom(random.nextLong());
+            for (int i = 0; i < streams.length; i++) {
+                streams[i] = new Random(seeds.nextLong());
+            }
+        }
+        return streams;
+    }
+
 ////////////////////////////////  FITNESS   ////////////////////////////////////    
+    //Fitness of population[index] under the default fitness function, 
+    //evaluated only if the solution changed since it was last evaluated
+    private double cachedFitness(int index) {
+        BinarySolution solution = population[index];
+        fitnessLookups.increment();
+        if (fitnessModCount[index] != solution.getModCount()) {
+            fitnessEvaluations.increment();
+            fitness[index] = fitnessOf(test, solution);
+            fitnessModCount[index] = solution.getModCount();
+        }
+        return fitness[index];
+    }
+
+    //Fitness of any solution under the default fitness function, counted as an evaluation
+    double evaluate(BinarySolution solution) {
+        fitnessLookups.increment();
+        fitnessEvaluations.increment();
+        return fitnessOf(test, solution);
+    }
+
+    //Assesses solution as far as fitnessFunction declares it needs, then scores it
+    private static double fitnessOf(FitnessFunction fitnessFunction, BinarySolution solution) {
+        solution.assess(fitnessFunction.requiredAssessment());
+        return fitnessFunction.getFitness(solution);
+    }
+
+    //Makes every solution feasible; changed solutions are then reevaluated as needed
+    void repairAll() {
+        forEachSolution(i -> population[i].repair());
+    }
+
+    //Brings every cached fitness up to date
+    void evaluateAll() {
+        forEachSolution(this::cachedFitness);
+    }
+
+    //Must be called by anyone who changes an entry of getPopulation() other than through its own methods
+    public void invalidateFitness(int index) {
+        fitnessModCount[index] = -1;
+    }
+
 ////////////////////////////    MUTATION    ///////////////////////////////////
     /*
     bitMutationRate: Chance each bit has to mutate, on [0,1]
      */
     public void applyBitwiseRandomMutation(double bitMutationRate) {
-        for (BinarySolution solution : getPopulation()) {
-            for (int i = 0; i < solution.length(); i++) {
-                if (random.nextDouble() < bitMutationRate) {
-                    solution.flip(i);
-                }
+        Random[] streams = randomStreams();
+        forEachSolution(s -> {
+            Random stream = streams[s];
+            BinarySolution solution = population[s];
+            int length = solution.length();
+            for (int i = nextSelectedIndex(stream, 0, bitMutationRate, length); i < length;
+                    i = nextSelectedIndex(stream, i + 1, bitMutationRate, length)) {
+                solution.flip(i);
             }
-        }
+        });
     }
 
 
@@ -104,108 +511,383 @@ public class Population {
         taking the expected number of additional flipped bits into account
      */
     public void applyVariableLengthMutation(double bitMutationRate, int maxFlippedBits) {
-        bitMutationRate /= ((1 + maxFlippedBits) / 2.0); //Correcting for higher rate of flipped bits
-        for (BinarySolution solution : getPopulation()) {
-            for (int i = 0; i < solution.length(); i++) {
-                if (random.nextDouble() < (bitMutationRate)) {
-                    int bits = random.nextInt(maxFlippedBits) + 1;
-                    solution.flip(i, Math.min(i + bits, solution.length()));
-                }
-            }
+        Random[] streams = randomStreams();
+        forEachSolution(s -> variableLengthMutation(population[s], streams[s], bitMutationRate, maxFlippedBits));
+    }
+
+    //Variable length mutation of a single solution, drawing from random
+    static void variableLengthMutation(BinarySolution solution, Random random,
+            double bitMutationRate, int maxFlippedBits) {
+        double correctedRate = bitMutationRate / ((1 + maxFlippedBits) / 2.0); //Correcting for higher rate of flipped bits
+        int length = solution.length();
+        for (int i = nextSelectedIndex(random, 0, correctedRate, length); i < length;
+                i = nextSelectedIndex(random, i + 1, correctedRate, length)) {
+            int bits = random.nextInt(maxFlippedBits) + 1;
+            solution.flip(i, Math.min(i + bits, length));
+        }
+    }
+
+    /*
+        Geometric skip sampling: returns the next index at or after from that 
+        is selected when each index is independently selected with the given 
+        probability, or length if there is none.
+        Uses one random number per selected index rather than one per index.
+     */
+    private static int nextSelectedIndex(Random random, int from, double probability, int length) {
+        if (probability >= 1.0) {
+            return from;
+        }
+        if (probability <= 0.0) {
+            return length;
         }
+        double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log1p(-probability));
+        return (int) Math.min(length, from + skip);
     }
 
 //////////////////////////   CROSSOVER METHODS   ///////////////////////////////
     //Best to use an even number of points to avoid endpoint bias
     //Crosses over in place
-    private void nPointCrossover(BinarySolution a, BinarySolution b, int numberOfPoints) {
-        HashSet<Integer> crossoverPoints = new HashSet<>();
-        while (crossoverPoints.size() < numberOfPoints) {
-            crossoverPoints.add(random.nextInt(a.length()));
-        }
-
-        boolean swapping = false;
-        for (int i = 0; i < a.length(); i++) {
-            //Determine whether a and b are swapping bits
-            if (crossoverPoints.contains(i)) {
-                if (swapping == false) {
-                    swapping = true;
-                } else {
-                    swapping = false;
-                }
+    void nPointCrossover(BinarySolution a, BinarySolution b, int numberOfPoints) {
+        nPointCrossover(a, b, numberOfPoints, random);
+    }
+
+    //As above, drawing from the given generator
+    static void nPointCrossover(BinarySolution a, BinarySolution b, int numberOfPoints, Random random) {
+        int[] crossoverPoints = new int[numberOfPoints];
+        int chosenPoints = 0;
+        while (chosenPoints < numberOfPoints) {
+            int point = random.nextInt(a.length());
+            boolean duplicate = false;
+            for (int i = 0; i < chosenPoints && !duplicate; i++) {
+                duplicate = crossoverPoints[i] == point;
             }
-            //Swap bits, if currently appropriate
-            if (swapping) {
-                boolean temp = a.get(i);
-                a.set(i, b.get(i));
-                b.set(i, temp);
+            if (!duplicate) {
+                crossoverPoints[chosenPoints++] = point;
             }
         }
+        Arrays.sort(crossoverPoints);
+
+        //Swapping toggles at each point, so a and b exchange every other segment
+        for (int i = 0; i < numberOfPoints; i += 2) {
+            int end = (i + 1 < numberOfPoints) ? crossoverPoints[i + 1] : a.length();
+            a.swapRange(b, crossoverPoints[i], end);
+        }
     }
 
-    //Randomly swaps bits between a and b
-    private void uniformCrossover(BinarySolution a, BinarySolution b) {
-        for (int i = 0; i < a.length(); i++) {
-            if (random.nextBoolean()) {
-                boolean temp = a.get(i);
-                a.set(i, b.get(i));
-                b.set(i, temp);
-            }
+    //Randomly swaps bits between a and b, 64 at a time
+    void uniformCrossover(BinarySolution a, BinarySolution b) {
+        for (int w = 0; w < a.wordCount(); w++) {
+            a.swapWord(b, w, random.nextLong());
         }
     }
 
     //Keeps a certain portion of genetic material, i.e., 70-30 splits
     //Faster to use bias between 0 and 0.5, but will work
-    private void constantBiasUniformCrossover(BinarySolution a, BinarySolution b, double bias) {
-        for (int i = 0; i < a.length(); i++) {
-            if (random.nextDouble() < bias) {
-                boolean temp = a.get(i);
-                a.set(i, b.get(i));
-                b.set(i, temp);
+    void constantBiasUniformCrossover(BinarySolution a, BinarySolution b, double bias) {
+        int length = a.length();
+        int maskWord = 0;
+        long mask = 0;
+        for (int i = nextSelectedIndex(random, 0, bias, length); i < length;
+                i = nextSelectedIndex(random, i + 1, bias, length)) {
+            //Flush the mask once the selected bits move on to the next word
+            if ((i >> 6) != maskWord) {
+                a.swapWord(b, maskWord, mask);
+                maskWord = i >> 6;
+                mask = 0;
             }
+            mask |= 1L << i;
+        }
+        if (mask != 0) {
+            a.swapWord(b, maskWord, mask);
         }
     }
 
-//////////////////////////////   CLONING   /////////////////////////////////////
-    //Takes a random set of solutions
-    //Kills worst and replaces it with a clone of the best
-    private void tournamentReplaceWorstWithCloneOfBest(int poolSize, FitnessFunction test) {
-        double[] fitness = this.getFitness(test);
+//////////////////////////////   SELECTION   ///////////////////////////////////
+    //Primitives for the SelectionStrategy implementations; none allocates once warmed up
 
-        //Select combatants
-        HashSet<Integer> pool = new HashSet<>();
-        while (pool.size() < poolSize) {
-            pool.add(random.nextInt(population.length));
+    int size() {
+        return population.length;
+    }
+
+    //Cached fitness under the default fitness function, evaluating if needed
+    double fitnessAt(int index) {
+        return cachedFitness(index);
+    }
+
+    /*
+        Floyd's algorithm: count distinct indices drawn uniformly from the 
+        population, with one random number each. The returned array is reused
+        by the next call; its first count entries are the sample.
+     */
+    int[] sampleIndices(int count) {
+        int n = population.length;
+        if (count > n) {
+            throw new IllegalArgumentException("Sample of " + count + " from " + n + " solutions");
         }
-        //Identify worst and best
-        int worstSolution = -1;
-        double lowestFitness = Double.POSITIVE_INFINITY;
-        int bestSolution = -1;
-        double highestFitness = Double.NEGATIVE_INFINITY;
-        for (int combatant : pool) {
-            if (fitness[combatant] < lowestFitness) {
-                lowestFitness = fitness[combatant];
-                worstSolution = combatant;
+        if (sample.length < count) {
+            sample = new int[count];
+        }
+        if (sampledAt.length != n) {
+            sampledAt = new int[n];
+        }
+        if (++sampleStamp == 0) {
+            Arrays.fill(sampledAt, 0); //Stamps wrapped around
+            sampleStamp = 1;
+        }
+        int drawn = 0;
+        for (int j = n - count; j < n; j++) {
+            int candidate = random.nextInt(j + 1);
+            if (sampledAt[candidate] == sampleStamp) {
+                candidate = j;
             }
-            if (fitness[combatant] > highestFitness) {
-                highestFitness = fitness[combatant];
-                bestSolution = combatant;
+            sampledAt[candidate] = sampleStamp;
+            sample[drawn++] = candidate;
+        }
+        return sample;
+    }
+
+    //Overwrites target, which must not belong to the population, with population[from]
+    void copySolutionTo(int from, BinarySolution target) {
+        target.copyFrom(population[from]);
+    }
+
+    //Overwrites population[to] with solution, whose fitness is known
+    void replaceSolution(int to, BinarySolution solution, double solutionFitness) {
+        population[to].copyFrom(solution);
+        fitness[to] = solutionFitness;
+        fitnessModCount[to] = population[to].getModCount();
+    }
+
+    //Overwrites population[to] with population[from] in place; the copy keeps from's cached fitness
+    void copySolution(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        BinarySolution source = population[from];
+        BinarySolution target = population[to];
+        boolean cached = fitnessModCount[from] == source.getModCount();
+        target.copyFrom(source);
+        if (cached) {
+            fitness[to] = fitness[from];
+            fitnessModCount[to] = target.getModCount();
+        } else {
+            invalidateFitness(to);
+        }
+    }
+
+    //A buffer of population-size for replaceWithCopies sources, reused by every selection
+    int[] copySources() {
+        if (copySources.length != population.length) {
+            copySources = new int[population.length];
+        }
+        return copySources;
+    }
+
+    /*
+        Makes population[i] a copy of the old population[sources[i]] for every
+        i, sources may repeat. Copies go into a second set of solutions, which 
+        then swaps with the first.
+     */
+    void replaceWithCopies(int[] sources) {
+        for (int i = 0; i < population.length; i++) {
+            int from = sources[i];
+            boolean cached = fitnessModCount[from] == population[from].getModCount();
+            spare[i].copyFrom(population[from]);
+            spareFitness[i] = fitness[from];
+            spareFitnessModCount[i] = cached ? spare[i].getModCount() : -1;
+        }
+        swapWithSpare();
+    }
+
+    /*
+        Keeps a copy of the current, evaluated, population as parents, in an
+        arena of their own that nothing else writes to, so they outlast any
+        shuffling and copying before copyParent. Allocated on first use.
+     */
+    void saveParents() {
+        evaluateAll();
+        if (parents.length != population.length) {
+            int length = input.getShortString().length();
+            int stride = BinarySolution.wordsFor(length);
+            long[] parentArena = new long[population.length * stride];
+            parents = new BinarySolution[population.length];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = new BinarySolution(length, this, parentArena, i * stride);
             }
+            parentFitness = new double[population.length];
+        }
+        for (int i = 0; i < population.length; i++) {
+            parents[i].copyFrom(population[i]);
+            parentFitness[i] = fitness[i];
+        }
+    }
+
+    double parentFitness(int parent) {
+        return parentFitness[parent];
+    }
+
+    //Overwrites population[to] with the saved parent
+    void copyParent(int parent, int to) {
+        population[to].copyFrom(parents[parent]);
+        fitness[to] = parentFitness[parent];
+        fitnessModCount[to] = population[to].getModCount();
+    }
+
+    private void swapWithSpare() {
+        BinarySolution[] solutions = population;
+        population = spare;
+        spare = solutions;
+        double[] fitnesses = fitness;
+        fitness = spareFitness;
+        spareFitness = fitnesses;
+        int[] modCounts = fitnessModCount;
+        fitnessModCount = spareFitnessModCount;
+        spareFitnessModCount = modCounts;
+    }
+
+//////////////////////////////   MIGRATION   ///////////////////////////////////
+    //Clones of the count fittest solutions, fittest first
+    public BinarySolution[] getTopSolutions(int count) {
+        int[] ranking = this.rankByFitness();
+        count = Math.min(count, ranking.length);
+        BinarySolution[] top = new BinarySolution[count];
+        for (int i = 0; i < count; i++) {
+            top[i] = population[ranking[ranking.length - 1 - i]].deepClone();
+        }
+        return top;
+    }
+
+    /*
+        Replaces the least fit solutions with copies of the migrants, which may 
+        come from another population over the same strings.
+        At most half the population is replaced.
+     */
+    public void receiveMigrants(BinarySolution[] migrants) {
+        int[] ranking = this.rankByFitness();
+        int count = Math.min(migrants.length, population.length / 2);
+        for (int i = 0; i < count; i++) {
+            population[ranking[i]].copyFrom(migrants[i]);
+            invalidateFitness(ranking[i]);
+        }
+    }
+
+    //Population indices, least fit first; reused, so only valid until the next call
+    int[] rankByFitness() {
+        this.evaluateAll();
+        if (ranking.length != population.length) {
+            ranking = new int[population.length];
+        }
+        return rankAscending(fitness, ranking);
+    }
+
+    //Saved parent indices, least fit first; reused, so only valid until the next call
+    int[] rankParents() {
+        if (parentRanking.length != parents.length) {
+            parentRanking = new int[parents.length];
+        }
+        return rankAscending(parentFitness, parentRanking);
+    }
+
+    //Fills order with the indices of values in ascending order, equal values in index order
+    private int[] rankAscending(double[] values, int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        if (rankScratch.length < order.length) {
+            rankScratch = new int[order.length];
+        }
+        mergeSort(order, rankScratch, values, 0, order.length);
+        return order;
+    }
+
+    //Stable sort of order[from, to) by values, through scratch; no boxing, no comparator
+    private static void mergeSort(int[] order, int[] scratch, double[] values, int from, int to) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int index = order[i];
+                int j = i - 1;
+                while (j >= from && Double.compare(values[order[j]], values[index]) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, scratch, values, from, mid);
+        mergeSort(order, scratch, values, mid, to);
+        if (Double.compare(values[order[mid - 1]], values[order[mid]]) <= 0) {
+            return; //Already in order
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < mid && Double.compare(values[scratch[left]], values[scratch[right]]) <= 0)) {
+                order[k] = scratch[left++];
+            } else {
+                order[k] = scratch[right++];
+            }
+        }
+    }
+
+//////////////////////////////   SNAPSHOTS   ///////////////////////////////////
+    //A copy of everything needed to carry on exactly where this population is
+    public PopulationSnapshot snapshot() {
+        long[][] genomes = new long[population.length][];
+        for (int i = 0; i < genomes.length; i++) {
+            genomes[i] = population[i].copyWords();
+        }
+        long[] best = (bestSolution == null) ? null : bestSolution.copyWords();
+        return new PopulationSnapshot(seed, generation, epochLength, incrementalAssessment, repairing,
+                PopulationSnapshot.saveRandom(random), input.getShortString().length(), genomes, best, bestSolutionFitness);
+    }
+
+    private void restore(PopulationSnapshot snapshot) {
+        if (snapshot.getGenomeLength() != input.getShortString().length()) {
+            throw new IllegalArgumentException("Snapshot genomes do not fit the shorter string");
+        }
+        this.generation = snapshot.getGeneration();
+        this.incrementalAssessment = snapshot.isIncrementalAssessment();
+        this.repairing = snapshot.isRepairing();
+        this.random = PopulationSnapshot.loadRandom(snapshot.getRandomState());
+        long[][] genomes = snapshot.getGenomes();
+        this.allocateStorage(genomes.length);
+        for (int i = 0; i < genomes.length; i++) {
+            population[i].loadWords(genomes[i]);
+        }
+        if (snapshot.getBestSolution() != null) {
+            this.bestSolution = bestStorage;
+            this.bestSolution.loadWords(snapshot.getBestSolution());
+            this.bestSolutionFitness = snapshot.getBestSolutionFitness();
         }
-        //Replace worst with clone of best
-        population[worstSolution] = (BinarySolution) population[bestSolution].deepClone();
     }
 
 //////////////////////////////   OPERATION    //////////////////////////////////
     //Shuffles the solution BitSets in the pop[] (population) array
+    //Copies every genome through the spare arena, keeping genomes in index order;
+    //to pair crossover partners, shuffledOrder alone is enough and copies nothing
     public void shuffle() {
+        this.replaceWithCopies(this.shuffledOrder());
+    }
+
+    //A random permutation of the population's indices, in a buffer reused by the next call
+    int[] shuffledOrder() {
+        if (order.length != population.length) {
+            order = new int[population.length];
+        }
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
         int rand;
-        for (int i = 0; i < getPopulation().length; i++) {
-            rand = random.nextInt(getPopulation().length);
-            BinarySolution temp = getPopulation()[i];
-            population[i] = getPopulation()[rand];
-            population[rand] = temp;
+        for (int i = 0; i < order.length; i++) {
+            rand = random.nextInt(order.length);
+            int temp = order[i];
+            order[i] = order[rand];
+            order[rand] = temp;
         }
+        return order;
     }
 
     public int bestSolutionIndex(FitnessFunction fitnessFunction) {
@@ -213,9 +895,8 @@ public class Population {
         int bestSolutionIndex = -1;
         double[] fitness = this.getFitness(fitnessFunction);
         for (int i = 0; i < population.length; i++) {
-            double currentFitness = fitnessFunction.getFitness(population[i]);
-            if (currentFitness > highestFitness) {
-                highestFitness = currentFitness;
+            if (fitness[i] > highestFitness) {
+                highestFitness = fitness[i];
                 bestSolutionIndex = i;
             }
         }
@@ -235,20 +916,20 @@ public class Population {
         return sum;
     }
 
+    //Evaluates in parallel when threads > 1; fitnessFunction must then be thread-safe
+    //The default fitness function is served from the cache
     public double[] getFitness(FitnessFunction fitnessFunction) {
-        double[] fitness = new double[this.population.length];
-        for (int i = 0; i < this.population.length; i++) {
-            fitness[i] = fitnessFunction.getFitness(population[i]);
+        if (fitnessFunction == test) {
+            evaluateAll();
+            return fitness.clone();
         }
+        double[] fitness = new double[this.population.length];
+        forEachSolution(i -> fitness[i] = fitnessOf(fitnessFunction, population[i]));
         return fitness;
     }
 
     public double[] getFitness() {
-        double[] fitness = new double[this.population.length];
-        for (int i = 0; i < this.population.length; i++) {
-            fitness[i] = test.getFitness(population[i]);
-        }
-        return fitness;
+        return getFitness(test);
     }
 
     public double getMeanFitness(FitnessFunction fitnessFunction) {
@@ -263,37 +944,149 @@ public class Population {
     public void runOneGeneration(int numberOfTournaments, int tournamentSize, 
             double crossoverRate, int crossoverPoints, 
             double mutationRate, int mutationMaxLength) {
-
-        //Kill/Clone - only way good genes are encouraged
-        for (int i = 0; i < numberOfTournaments; i++) {
-            this.tournamentReplaceWorstWithCloneOfBest(tournamentSize, new SimpleFuzzyFitness());
+        if (steadyState != null) {
+            steadyState.runGeneration(tournamentSize, crossoverRate, crossoverPoints, mutationRate, mutationMaxLength);
+            return;
         }
+        this.startGeneration();
+        long phaseStart = System.nanoTime();
+
+        //Selection - only way good genes are encouraged; Kill/Clone by default
+        SelectionStrategy strategy = (selection != null) ? selection
+                : new TournamentSelection(numberOfTournaments, tournamentSize);
+        strategy.selectParents(this);
+        long selectionEnd = System.nanoTime();
 
         //Crossover - mixes things up, or isolates good solutions from bad
-        this.shuffle(); //Necessary to ensure random partners
-        crossoverRate = 0.10;
-        crossoverPoints = 4;
+        //Partners are paired through a random order, so no genome is moved
+        int[] partners = this.shuffledOrder();
         for (int i = 0; i < population.length - 1; i += 2) {
             if (random.nextDouble() < crossoverRate) {
-                this.nPointCrossover(population[i], population[i + 1], crossoverPoints);
+                this.nPointCrossover(population[partners[i]], population[partners[i + 1]], crossoverPoints);
             }
         }
+        long crossoverEnd = System.nanoTime();
 
         //Mutate - only way new genes are introduced
-        this.applyVariableLengthMutation(0.01, 7);
+        this.applyVariableLengthMutation(mutationRate, mutationMaxLength);
+        long mutationEnd = System.nanoTime();
 
+        //Repair - projects infeasible solutions onto feasible ones
+        if (repairing) {
+            this.repairAll();
+        }
+        long repairEnd = System.nanoTime();
         
-        //Find & Update Best
-        double[] fitness = this.getFitness(this.test);
+        //Find & Update Best; only solutions changed this generation are reevaluated
+        this.evaluateAll();
+        strategy.selectSurvivors(this);
+        this.completeGeneration(selectionEnd - phaseStart,
+                crossoverEnd - selectionEnd, mutationEnd - crossoverEnd, repairEnd - mutationEnd,
+                System.nanoTime() - repairEnd);
+    }
+
+    //Notes the counters the next completeGeneration reports the change in
+    void startGeneration() {
+        countersBefore[0] = fitnessLookups.sum();
+        countersBefore[1] = fitnessEvaluations.sum();
+        countersBefore[2] = assessmentLookups.sum();
+        countersBefore[3] = assessments.sum();
+    }
+
+    /*
+        Ends a generation whose solutions all have cached fitness: updates the
+        best solution, counts the generation and tells the listeners, given 
+        the time spent in each phase since startGeneration
+     */
+    void completeGeneration(long selectionNanos,
+            long crossoverNanos, long mutationNanos, long repairNanos, long evaluationNanos) {
+        int best = -1;
         for(int i = 0; i < this.population.length; i++) {
             if(fitness[i] > this.bestSolutionFitness) {
                 this.bestSolutionFitness = fitness[i];
-                this.bestSolution = population[i].deepClone();
+                best = i;
             }            
         }
+        //One copy into the storage allocated up front, however often the best improved
+        if (best >= 0) {
+            bestStorage.copyFrom(population[best]);
+            this.bestSolution = bestStorage;
+        }
         
         //Iterate
         generation++;
+
+        if (!listeners.isEmpty()) {
+            GenerationStatistics statistics = this.statistics(
+                    fitnessEvaluations.sum() - countersBefore[1], fitnessLookups.sum() - countersBefore[0],
+                    assessmentLookups.sum() - countersBefore[2], assessments.sum() - countersBefore[3],
+                    selectionNanos, crossoverNanos, mutationNanos, repairNanos, evaluationNanos);
+            for (GenerationListener listener : listeners) {
+                listener.generationCompleted(statistics);
+            }
+        }
+    }
+
+    //Counts one tier asked of a solution's assessment, and whether it was already valid
+    void countAssessment(boolean valid) {
+        assessmentLookups.increment();
+        if (!valid) {
+            assessments.increment();
+        }
+    }
+
+    //Summarizes the current, fully evaluated, generation
+    private GenerationStatistics statistics(long evaluations, long fitnessLookups,
+            long assessmentLookups, long assessments, long selectionNanos,
+            long crossoverNanos, long mutationNanos, long repairNanos, long evaluationNanos) {
+        double worst = Double.POSITIVE_INFINITY;
+        double best = Double.NEGATIVE_INFINITY;
+        int feasible = 0;
+        //Not worth a feasibility check of every solution when fitness never needs one
+        boolean countFeasible = repairing || test.requiredAssessment() != AssessmentTier.CARDINALITY;
+        for (int i = 0; i < population.length; i++) {
+            worst = Math.min(worst, fitness[i]);
+            best = Math.max(best, fitness[i]);
+            if (countFeasible && population[i].isFeasible()) {
+                feasible++;
+            }
+        }
+        return new GenerationStatistics(generation, sum(fitness) / population.length, best, worst,
+                countFeasible ? (double) feasible / population.length : Double.NaN, this.sampledDiversity(), evaluations, fitnessLookups,
+                assessmentLookups, assessments, selectionNanos, crossoverNanos, mutationNanos, repairNanos, evaluationNanos);
+    }
+
+    /*
+        Mean Hamming distance between pairs of solutions: every pair when there
+        are at most DIVERSITY_SAMPLES of them, else that many random pairs. 
+        Draws from its own generator so watching a run does not change it.
+     */
+    private double sampledDiversity() {
+        int n = population.length;
+        if (n < 2) {
+            return 0.0;
+        }
+        long total = 0;
+        int pairs = 0;
+        if ((long) n * (n - 1) / 2 <= DIVERSITY_SAMPLES) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    total += population[i].hammingDistance(population[j]);
+                    pairs++;
+                }
+            }
+        } else {
+            SplittableRandom sampler = new SplittableRandom(seed + generation);
+            for (; pairs < DIVERSITY_SAMPLES; pairs++) {
+                int i = sampler.nextInt(n);
+                int j = sampler.nextInt(n - 1);
+                if (j >= i) {
+                    j++; //Never compares a solution with itself
+                }
+                total += population[i].hammingDistance(population[j]);
+            }
+        }
+        return (double) total / pairs;
     }
 
 //////////////////////////////   DISPLAY   ////////////////////////////////////
@@ -304,10 +1097,11 @@ public class Population {
     }
 
     public void textDisplay() {
-        BinarySolution bestThisGen = population[this.bestSolutionIndex()];
+        int bestIndex = this.bestSolutionIndex();
+        BinarySolution bestThisGen = population[bestIndex];
         String bestThisGeneration = bestThisGen.getSolutionAsString();
         System.out.println("Generation: " + this.generation
-                + "\t MeanFitness: " + this.getMeanFitness(test) + "\t Highest fitness this gen: " + test.getFitness(bestThisGen) + " Feasible? " + bestThisGen.isFeasible());
+                + "\t MeanFitness: " + this.getMeanFitness(test) + "\t Highest fitness this gen: " + cachedFitness(bestIndex) + " Feasible? " + bestThisGen.isFeasible());
         System.out.println("Best solution this gen: " + bestThisGeneration);
         System.out.println("Highest fitness so far: " + this.bestSolutionFitness + " Feasible? " + this.bestSolution.isFeasible());
         System.out.println("Best solution so far: " + this.bestSolution.getSolutionAsString());
@@ -315,15 +1109,11 @@ public class Population {
 
     //Returns a binary string representation of the bitset using Unicode 1s and 0s
     public static String bitSetToString(BinarySolution bitSet) {
-        String s = "";
+        StringBuilder s = new StringBuilder(bitSet.length());
         for (int i = 0; i < bitSet.length(); i++) {
-            if (bitSet.get(i)) {
-                s += "1";
-            } else {
-                s += "0";
-            }
+            s.append(bitSet.get(i) ? '1' : '0');
         }
-        return s;
+        return s.toString();
     }
 
 }
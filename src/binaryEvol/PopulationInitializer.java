@@ -0,0 +1,31 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Creates the solutions a population starts from
+ * Drawing only from the given random keeps populations reproducible from their seed
+ *
+ */
+public interface PopulationInitializer {
+
+    public abstract BinarySolution createSolution(Population population, Random random);
+
+    //random, greedy, randomizedGreedy or repairedRandom, as named in a RunConfiguration
+    public static PopulationInitializer forName(String name) {
+        switch (name) {
+            case "random":
+                return new RandomInitializer();
+            case "greedy":
+                return new GreedyInitializer();
+            case "randomizedGreedy":
+                return new RandomizedGreedyInitializer();
+            case "repairedRandom":
+                return new RepairedRandomInitializer();
+            default:
+                throw new IllegalArgumentException("Unknown initializer: " + name);
+        }
+    }
+
+}
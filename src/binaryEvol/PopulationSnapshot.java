@@ -0,0 +1,203 @@
+package binaryEvol;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ *
+ * The state of one Population, as taken by Population.snapshot(): generation,
+ * random generator, best solution so far and every genome, packed 64 bits to
+ * a long. The strings are left out; see EvolutionSnapshot.
+ *
+ * A snapshot is a copy, so the population can carry on evolving while it is
+ * being written.
+ *
+ */
+public class PopulationSnapshot {
+
+    private final long seed;
+    private final int generation;
+    private final int epochLength;
+    private final boolean incrementalAssessment;
+    private final boolean repairing;
+    private final byte[] randomState;
+    private final int genomeLength;
+    private final long[][] genomes;
+    private final long[] bestSolution; //null before the first generation
+    private final double bestSolutionFitness;
+
+    PopulationSnapshot(long seed, int generation, int epochLength, boolean incrementalAssessment,
+            boolean repairing, byte[] randomState, int genomeLength, long[][] genomes,
+            long[] bestSolution, double bestSolutionFitness) {
+        this.seed = seed;
+        this.generation = generation;
+        this.epochLength = epochLength;
+        this.incrementalAssessment = incrementalAssessment;
+        this.repairing = repairing;
+        this.randomState = randomState;
+        this.genomeLength = genomeLength;
+        this.genomes = genomes;
+        this.bestSolution = bestSolution;
+        this.bestSolutionFitness = bestSolutionFitness;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getEpochLength() {
+        return epochLength;
+    }
+
+    public boolean isIncrementalAssessment() {
+        return incrementalAssessment;
+    }
+
+    public boolean isRepairing() {
+        return repairing;
+    }
+
+    byte[] getRandomState() {
+        return randomState;
+    }
+
+    public int getGenomeLength() {
+        return genomeLength;
+    }
+
+    public int size() {
+        return genomes.length;
+    }
+
+    long[][] getGenomes() {
+        return genomes;
+    }
+
+    long[] getBestSolution() {
+        return bestSolution;
+    }
+
+    public double getBestSolutionFitness() {
+        return bestSolutionFitness;
+    }
+
+///////////////////////////////   FORMAT   /////////////////////////////////////
+    /*
+        Layout, big-endian: seed, generation, epochLength, flags (bit 0
+        incremental assessment, bit 1 repairing), random state (length, bytes),
+        genomeLength, size, best fitness, whether there is a best solution,
+        then the best solution's words if so, and every genome's words.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeLong(seed);
+        out.writeInt(generation);
+        out.writeInt(epochLength);
+        out.writeByte((incrementalAssessment ? 1 : 0) | (repairing ? 2 : 0));
+        out.writeInt(randomState.length);
+        out.write(randomState);
+        out.writeInt(genomeLength);
+        out.writeInt(genomes.length);
+        out.writeDouble(bestSolutionFitness);
+        out.writeBoolean(bestSolution != null);
+        if (bestSolution != null) {
+            writeWords(out, bestSolution);
+        }
+        for (long[] genome : genomes) {
+            writeWords(out, genome);
+        }
+    }
+
+    private static void writeWords(DataOutputStream out, long[] words) throws IOException {
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    static PopulationSnapshot read(ByteBuffer in) {
+        long seed = in.getLong();
+        int generation = in.getInt();
+        int epochLength = in.getInt();
+        int flags = in.get();
+        byte[] randomState = new byte[in.getInt()];
+        in.get(randomState);
+        int genomeLength = in.getInt();
+        int size = in.getInt();
+        if (genomeLength < 1 || size < 0) {
+            throw new IllegalArgumentException("Corrupt population snapshot");
+        }
+        int wordCount = ((genomeLength - 1) >>> 6) + 1;
+        double bestSolutionFitness = in.getDouble();
+        long[] bestSolution = (in.get() != 0) ? readWords(in, wordCount) : null;
+        long[][] genomes = new long[size][];
+        for (int i = 0; i < size; i++) {
+            genomes[i] = readWords(in, wordCount);
+        }
+        return new PopulationSnapshot(seed, generation, epochLength, (flags & 1) != 0, (flags & 2) != 0,
+                randomState, genomeLength, genomes, bestSolution, bestSolutionFitness);
+    }
+
+    //Bulk copy straight out of the (mapped) buffer
+    private static long[] readWords(ByteBuffer in, int count) {
+        long[] words = new long[count];
+        in.asLongBuffer().get(words);
+        in.position(in.position() + count * 8);
+        return words;
+    }
+
+///////////////////////////   RANDOM STATE   ///////////////////////////////////
+    //java.util.Random keeps its state private, but serializes all of it, as do its FastRandom subclasses
+    static byte[] saveRandom(Random random) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(random);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not save random state", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Random loadRandom(byte[] state) {
+        try (ObjectInputStream in = new RandomInputStream(new ByteArrayInputStream(state))) {
+            return (Random) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Corrupt random state in snapshot", e);
+        }
+    }
+
+    //Refuses to deserialize anything but the generators RandomAlgorithm makes
+    private static class RandomInputStream extends ObjectInputStream {
+
+        private static final Set<String> ALLOWED = new HashSet<>(Arrays.asList(
+                Random.class.getName(), FastRandom.class.getName(),
+                SplitMix64Random.class.getName(), Xoroshiro128Random.class.getName()));
+
+        RandomInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass description) throws IOException, ClassNotFoundException {
+            if (!ALLOWED.contains(description.getName())) {
+                throw new InvalidClassException(description.getName(), "not allowed in a snapshot");
+            }
+            return super.resolveClass(description);
+        }
+    }
+
+}
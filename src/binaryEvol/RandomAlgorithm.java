@@ -0,0 +1,30 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Makes the generators a run draws from, each from a seed alone
+ * With a FastRandom, parallel mutation uses streams split from the
+ * population's generator; with java.util.Random, Randoms seeded from it.
+ *
+ */
+public interface RandomAlgorithm {
+
+    public abstract Random create(long seed);
+
+    //splitmix, xoroshiro or jdk (java.util.Random), as named in a RunConfiguration
+    public static RandomAlgorithm forName(String name) {
+        switch (name) {
+            case "splitmix":
+                return SplitMix64Random::new;
+            case "xoroshiro":
+                return Xoroshiro128Random::new;
+            case "jdk":
+                return Random::new;
+            default:
+                throw new IllegalArgumentException("Unknown random algorithm: " + name);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Uniform-randomized bits: about half the shortString is selected, which is
+ * almost never a subsequence of the long strings, so random solutions of any
+ * real length are nearly always infeasible (see RepairedRandomInitializer and
+ * GreedyInitializer for feasible starts)
+ *
+ */
+public class RandomInitializer implements PopulationInitializer {
+
+    @Override
+    public BinarySolution createSolution(Population population, Random random) {
+        int length = population.getShortString().length();
+        BinarySolution solution = new BinarySolution(length, population);
+        solution.randomize(random);
+        return solution;
+    }
+
+}
@@ -0,0 +1,25 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Each island sends its emigrants to one other island, chosen uniformly 
+ * randomly at every migration
+ *
+ */
+public class RandomTopology implements MigrationTopology {
+
+    @Override
+    public int[] destinations(int island, int islands, Random random) {
+        if (islands < 2) {
+            return new int[0];
+        }
+        int destination = random.nextInt(islands - 1);
+        if (destination >= island) {
+            destination++;
+        }
+        return new int[]{destination};
+    }
+
+}
@@ -0,0 +1,41 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Greedy matching from random start offsets in both strings, leaving out 
+ * characters at random; always feasible, and varied enough to evolve from
+ *
+ */
+public class RandomizedGreedyInitializer implements PopulationInitializer {
+
+    private final double maxStartFraction;
+    private final double skipRate;
+
+    public RandomizedGreedyInitializer() {
+        this(0.1, 0.1);
+    }
+
+    /*
+        maxStartFraction: starts are drawn from the first fraction of each string
+        skipRate: chance each character is left out of the match
+     */
+    public RandomizedGreedyInitializer(double maxStartFraction, double skipRate) {
+        this.maxStartFraction = maxStartFraction;
+        this.skipRate = skipRate;
+    }
+
+    @Override
+    public BinarySolution createSolution(Population population, Random random) {
+        int shortStart = randomStart(population.getShortString().length(), random);
+        int longStart = randomStart(population.getLongString().length(), random);
+        return GreedyInitializer.greedyMatch(population, shortStart, longStart, skipRate, random);
+    }
+
+    private int randomStart(int length, Random random) {
+        int range = (int) (length * maxStartFraction);
+        return range > 0 ? random.nextInt(range + 1) : 0;
+    }
+
+}
@@ -0,0 +1,21 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Uniform-randomized bits, repaired to feasibility by BinarySolution.repair
+ *
+ */
+public class RepairedRandomInitializer implements PopulationInitializer {
+
+    private final RandomInitializer uniform = new RandomInitializer();
+
+    @Override
+    public BinarySolution createSolution(Population population, Random random) {
+        BinarySolution solution = uniform.createSolution(population, random);
+        solution.repair();
+        return solution;
+    }
+
+}
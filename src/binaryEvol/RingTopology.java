@@ -0,0 +1,20 @@
+package binaryEvol;
+
+import java.util.Random;
+
+/**
+ *
+ * Each island sends its emigrants to the next island, the last to the first
+ *
+ */
+public class RingTopology implements MigrationTopology {
+
+    @Override
+    public int[] destinations(int island, int islands, Random random) {
+        if (islands < 2) {
+            return new int[0];
+        }
+        return new int[]{(island + 1) % islands};
+    }
+
+}
@@ -0,0 +1,318 @@
+package binaryEvol;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
+
+/**
+ *
+ * Parameters for a headless run, read from a properties file
+ * Keys match the field names; anything left out keeps the defaults below,
+ * which are the console runner's recommended values.
+ *
+ * With more than one island, the run is an IslandModel: populationSize is the
+ * size of each island, and migrants solutions migrate every epochLength
+ * generations over the named topology (ring, full or random).
+ *
+ * initializer names how populations start: random, greedy, randomizedGreedy
+ * or repairedRandom (see PopulationInitializer). With repair, every solution
+ * is made feasible after mutation instead of being scored by fuzzy matching.
+ * fitness is fuzzy (SimpleFuzzyFitness) or, only with repair, cardinality
+ * (CardinalityFitness), which never asks for a feasibility check.
+ *
+ * selection is tournament (numberOfTournaments Kill/Clone tournaments of
+ * tournamentSize), muPlusLambda, truncation (the fittest truncationFraction
+ * are parents) or sus (stochastic universal sampling).
+ *
+ * engine is generational (every generation runs each phase over the whole
+ * population in turn) or steadyState (see SteadyStateEngine: the threads
+ * breed, evaluate and replace solutions one pair at a time, with tournaments
+ * of tournamentSize; only tournament selection applies).
+ *
+ * random names the generator every run draws from: splitmix (the algorithm
+ * of java.util.SplittableRandom), xoroshiro (xoroshiro128++) or jdk (the
+ * slower, synchronized java.util.Random). A run is reproducible from its
+ * seed and generator; results under one generator say nothing of another.
+ *
+ * strings is how many lines of each input file are strings to find a common
+ * subsequence of: 2 by default, or 0 for every line up to the first empty one.
+ * With more than two, solutions select from the shortest and must embed in
+ * every other; the exact solver only handles two.
+ *
+ * inputEncoding is how input files are read: text (as Strings, two bytes a
+ * character), mapped (memory-mapped, one byte a character) or packed (as
+ * mapped, but strings of only A, C, G and T take two bits a base).
+ *
+ * Pairs of strings with at most exactMaxCells (shorter length times longer
+ * length) are solved exactly by ExactLcsSolver instead of evolved. With 
+ * exactReference, evolved pairs also report the exact LCS length.
+ *
+ * Termination: a run stops after maxGenerations, after maxSeconds of wall-clock
+ * time, once the best fitness has not improved for stagnationGenerations, or
+ * once solutions differ in at most a fraction minDiversity of their bits on
+ * every island, whichever comes first. A limit of 0 disables it. A resumed run
+ * counts generations from the start of the original run, but maxSeconds afresh.
+ * With stopAtBound, a run also stops as soon as its best solution is feasible
+ * and as long as InputIndex's upper bound, so cannot be bettered.
+ *
+ * Checkpointing: every checkpointGenerations generations (0 never) the run is
+ * saved next to its input; with resume, it restarts from that snapshot. The
+ * snapshot's islands are kept, whatever the islands setting.
+ *
+ */
+public class RunConfiguration {
+
+    int populationSize = 100;
+    int numberOfTournaments = 10;
+    int tournamentSize = 5;
+    double crossoverRate = 0.8;
+    int crossoverPoints = 4;
+    double mutationRate = 0.01;
+    int mutationMaxLength = 7;
+    String selection = "tournament";
+    double truncationFraction = 0.5;
+    String engine = "generational";
+    int strings = 2;
+    String inputEncoding = "text";
+    String random = "splitmix";
+    String initializer = "random";
+    boolean repair = false;
+    String fitness = "fuzzy";
+    //Evaluation threads per island
+    int threads = 1;
+    int islands = 1;
+    int epochLength = 50;
+    int migrants = 2;
+    String topology = "ring";
+    //Seed of the first input; each following input uses the next seed
+    long seed = System.currentTimeMillis();
+
+    long exactMaxCells = 0;
+    boolean exactReference = false;
+
+    int maxGenerations = 1000;
+    double maxSeconds = 0;
+    int stagnationGenerations = 0;
+    double minDiversity = 0;
+    boolean stopAtBound = true;
+
+    int checkpointGenerations = 0;
+    boolean resume = false;
+
+    public static RunConfiguration load(File file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(file)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    public static RunConfiguration fromProperties(Properties properties) {
+        RunConfiguration config = new RunConfiguration();
+        for (String key : properties.stringPropertyNames()) {
+            config.set(key, properties.getProperty(key).trim());
+        }
+        config.validate();
+        return config;
+    }
+
+    //Sets a single parameter by name
+    public void set(String key, String value) {
+        try {
+            switch (key) {
+                case "populationSize":
+                    populationSize = Integer.parseInt(value);
+                    break;
+                case "numberOfTournaments":
+                    numberOfTournaments = Integer.parseInt(value);
+                    break;
+                case "tournamentSize":
+                    tournamentSize = Integer.parseInt(value);
+                    break;
+                case "crossoverRate":
+                    crossoverRate = Double.parseDouble(value);
+                    break;
+                case "crossoverPoints":
+                    crossoverPoints = Integer.parseInt(value);
+                    break;
+                case "mutationRate":
+                    mutationRate = Double.parseDouble(value);
+                    break;
+                case "mutationMaxLength":
+                    mutationMaxLength = Integer.parseInt(value);
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "selection":
+                    if (!value.equals("tournament") && !value.equals("muPlusLambda")
+                            && !value.equals("truncation") && !value.equals("sus")) {
+                        throw new IllegalArgumentException("Unknown selection: " + value);
+                    }
+                    selection = value;
+                    break;
+                case "truncationFraction":
+                    truncationFraction = Double.parseDouble(value);
+                    break;
+                case "engine":
+                    if (!value.equals("generational") && !value.equals("steadyState")) {
+                        throw new IllegalArgumentException("Unknown engine: " + value);
+                    }
+                    engine = value;
+                    break;
+                case "strings":
+                    strings = Integer.parseInt(value);
+                    break;
+                case "inputEncoding":
+                    if (!value.equals("text") && !value.equals("mapped") && !value.equals("packed")) {
+                        throw new IllegalArgumentException("Unknown input encoding: " + value);
+                    }
+                    inputEncoding = value;
+                    break;
+                case "random":
+                    RandomAlgorithm.forName(value); //Fails early on unknown names
+                    random = value;
+                    break;
+                case "initializer":
+                    PopulationInitializer.forName(value); //Fails early on unknown names
+                    initializer = value;
+                    break;
+                case "repair":
+                    repair = parseBoolean(value);
+                    break;
+                case "fitness":
+                    FitnessFunction.forName(value); //Fails early on unknown names
+                    fitness = value;
+                    break;
+                case "islands":
+                    islands = Integer.parseInt(value);
+                    break;
+                case "epochLength":
+                    epochLength = Integer.parseInt(value);
+                    break;
+                case "migrants":
+                    migrants = Integer.parseInt(value);
+                    break;
+                case "topology":
+                    MigrationTopology.forName(value); //Fails early on unknown names
+                    topology = value;
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "exactMaxCells":
+                    exactMaxCells = Long.parseLong(value);
+                    break;
+                case "exactReference":
+                    exactReference = parseBoolean(value);
+                    break;
+                case "maxGenerations":
+                    maxGenerations = Integer.parseInt(value);
+                    break;
+                case "maxSeconds":
+                    maxSeconds = Double.parseDouble(value);
+                    break;
+                case "stagnationGenerations":
+                    stagnationGenerations = Integer.parseInt(value);
+                    break;
+                case "minDiversity":
+                    minDiversity = Double.parseDouble(value);
+                    break;
+                case "stopAtBound":
+                    stopAtBound = parseBoolean(value);
+                    break;
+                case "checkpointGenerations":
+                    checkpointGenerations = Integer.parseInt(value);
+                    break;
+                case "resume":
+                    resume = parseBoolean(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown parameter: " + key);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad value for " + key + ": " + value, e);
+        }
+    }
+
+    //Same limits as the console runner enforces
+    public void validate() {
+        require(populationSize >= 10, "populationSize must be at least 10");
+        require(numberOfTournaments >= 1, "numberOfTournaments must be at least 1");
+        require(tournamentSize >= 2 && tournamentSize <= populationSize,
+                "tournamentSize must be between 2 and populationSize");
+        require(crossoverRate > 0.0, "crossoverRate must be greater than 0");
+        require(crossoverPoints >= 1, "crossoverPoints must be at least 1");
+        require(mutationRate > 0.0 && mutationRate <= 1.0, "mutationRate must be in (0, 1]");
+        require(mutationMaxLength >= 1, "mutationMaxLength must be at least 1");
+        require(truncationFraction > 0.0 && truncationFraction <= 1.0, "truncationFraction must be in (0, 1]");
+        require(engine.equals("generational") || selection.equals("tournament"),
+                "the steadyState engine only uses tournament selection");
+        require(repair || !fitness.equals("cardinality"), "cardinality fitness needs repair");
+        require(strings == 0 || strings >= 2, "strings must be 0 (every line) or at least 2");
+        require(threads >= 1, "threads must be at least 1");
+        require(islands >= 1, "islands must be at least 1");
+        require(epochLength >= 0 && migrants >= 0, "epochLength and migrants must not be negative");
+        require(exactMaxCells >= 0, "exactMaxCells must not be negative");
+        require(maxGenerations >= 0 && maxSeconds >= 0 && stagnationGenerations >= 0,
+                "termination limits must not be negative");
+        require(minDiversity >= 0.0 && minDiversity < 1.0, "minDiversity must be in [0, 1)");
+        require(checkpointGenerations >= 0, "checkpointGenerations must not be negative");
+        //A run may never reach its bound or converge, so one of these must end it
+        require(maxGenerations > 0 || maxSeconds > 0 || stagnationGenerations > 0,
+                "at least one of maxGenerations, maxSeconds and stagnationGenerations must be set");
+    }
+
+    //The inverse of fromProperties
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("populationSize", String.valueOf(populationSize));
+        properties.setProperty("numberOfTournaments", String.valueOf(numberOfTournaments));
+        properties.setProperty("tournamentSize", String.valueOf(tournamentSize));
+        properties.setProperty("crossoverRate", String.valueOf(crossoverRate));
+        properties.setProperty("crossoverPoints", String.valueOf(crossoverPoints));
+        properties.setProperty("mutationRate", String.valueOf(mutationRate));
+        properties.setProperty("mutationMaxLength", String.valueOf(mutationMaxLength));
+        properties.setProperty("selection", selection);
+        properties.setProperty("truncationFraction", String.valueOf(truncationFraction));
+        properties.setProperty("engine", engine);
+        properties.setProperty("strings", String.valueOf(strings));
+        properties.setProperty("inputEncoding", inputEncoding);
+        properties.setProperty("random", random);
+        properties.setProperty("initializer", initializer);
+        properties.setProperty("repair", String.valueOf(repair));
+        properties.setProperty("fitness", fitness);
+        properties.setProperty("threads", String.valueOf(threads));
+        properties.setProperty("islands", String.valueOf(islands));
+        properties.setProperty("epochLength", String.valueOf(epochLength));
+        properties.setProperty("migrants", String.valueOf(migrants));
+        properties.setProperty("topology", topology);
+        properties.setProperty("seed", String.valueOf(seed));
+        properties.setProperty("exactMaxCells", String.valueOf(exactMaxCells));
+        properties.setProperty("exactReference", String.valueOf(exactReference));
+        properties.setProperty("maxGenerations", String.valueOf(maxGenerations));
+        properties.setProperty("maxSeconds", String.valueOf(maxSeconds));
+        properties.setProperty("stagnationGenerations", String.valueOf(stagnationGenerations));
+        properties.setProperty("minDiversity", String.valueOf(minDiversity));
+        properties.setProperty("stopAtBound", String.valueOf(stopAtBound));
+        properties.setProperty("checkpointGenerations", String.valueOf(checkpointGenerations));
+        properties.setProperty("resume", String.valueOf(resume));
+        return properties;
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (!value.equals("true") && !value.equals("false")) {
+            throw new NumberFormatException("not true or false");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+}
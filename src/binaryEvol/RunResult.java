@@ -0,0 +1,131 @@
+package binaryEvol;
+
+/**
+ *
+ * Outcome of one run of a BatchRunner, as reported in its JSON lines and in
+ * a ParameterSweep's summary table
+ * The best solution is kept as its string, feasibility and cardinality, so a
+ * result holds on to none of the run's populations.
+ *
+ */
+public class RunResult {
+
+    private final String input;
+    private final long seed;
+    private final int shortLength;
+    private final int longLength;
+    private final int strings;
+    private final int generations;
+    private final long elapsedMillis;
+    private final String stopReason;
+    private final boolean hasSolution;
+    private final double bestFitness;
+    private final boolean feasible;
+    private final int cardinality;
+    private final String solution;
+    private final int exactLength;
+
+    //best may be null if no generation ran; exactLength is negative when unknown
+    public RunResult(String input, long seed, Population strings, int generations, long elapsedMillis,
+            String stopReason, BinarySolution best, double bestFitness, int exactLength) {
+        this.input = input;
+        this.seed = seed;
+        this.shortLength = strings.getShortString().length();
+        this.longLength = strings.getLongString().length();
+        this.strings = strings.getLongStringCount() + 1;
+        this.generations = generations;
+        this.elapsedMillis = elapsedMillis;
+        this.stopReason = stopReason;
+        this.hasSolution = best != null;
+        this.bestFitness = bestFitness;
+        this.feasible = hasSolution && best.isFeasible();
+        this.cardinality = hasSolution ? best.cardinality() : 0;
+        this.solution = hasSolution ? best.getSolutionAsString() : null;
+        this.exactLength = exactLength;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getShortLength() {
+        return shortLength;
+    }
+
+    //Length of the first long string
+    public int getLongLength() {
+        return longLength;
+    }
+
+    public int getStrings() {
+        return strings;
+    }
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String getStopReason() {
+        return stopReason;
+    }
+
+    public boolean hasSolution() {
+        return hasSolution;
+    }
+
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    public boolean isFeasible() {
+        return feasible;
+    }
+
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    //null without a solution
+    public String getSolution() {
+        return solution;
+    }
+
+    public int getExactLength() {
+        return exactLength;
+    }
+
+    //One line of JSON; strings only beyond two, exactLength only when known
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"input\":").append(BatchRunner.jsonString(input));
+        json.append(",\"seed\":").append(seed);
+        json.append(",\"shortLength\":").append(shortLength);
+        json.append(",\"longLength\":").append(longLength);
+        if (strings > 2) {
+            json.append(",\"strings\":").append(strings);
+        }
+        json.append(",\"generations\":").append(generations);
+        json.append(",\"elapsedMillis\":").append(elapsedMillis);
+        json.append(",\"stopReason\":").append(BatchRunner.jsonString(stopReason));
+        if (hasSolution) {
+            json.append(",\"bestFitness\":").append(BatchRunner.jsonNumber(bestFitness));
+            json.append(",\"feasible\":").append(feasible);
+            json.append(",\"cardinality\":").append(cardinality);
+            json.append(",\"solution\":").append(BatchRunner.jsonString(solution));
+        }
+        if (exactLength >= 0) {
+            json.append(",\"exactLength\":").append(exactLength);
+        }
+        json.append("}");
+        return json.toString();
+    }
+
+}
@@ -0,0 +1,21 @@
+package binaryEvol;
+
+/**
+ *
+ * How a Population decides which solutions go on to the next generation
+ * selectParents runs before crossover and mutation; selectSurvivors after
+ * the offspring have been evaluated, for strategies that compare offspring
+ * with their parents. Fitness is the population's default fitness function.
+ *
+ * Strategies keep no state of their own, so one instance may serve several
+ * populations at once; scratch space belongs to the population.
+ *
+ */
+public interface SelectionStrategy {
+
+    public abstract void selectParents(Population population);
+
+    public default void selectSurvivors(Population population) {
+    }
+
+}
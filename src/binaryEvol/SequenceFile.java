@@ -0,0 +1,73 @@
+package binaryEvol;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *
+ * Reads the strings of an input file (its first lines, one string each)
+ * without decoding them into Strings
+ *
+ * The file is memory-mapped and each line becomes a ByteSequence over the
+ * mapping, one byte per character, so only the pages in use are resident.
+ * When packing, lines made only of A, C, G and T are copied into
+ * PackedDnaSequences instead, at two bits per base on the heap.
+ *
+ * Bytes are taken as Latin-1 characters; multi-byte UTF-8 input should be
+ * read as text instead. A mapping cannot exceed 2GB.
+ *
+ */
+public class SequenceFile {
+
+    public static CharSequence[] readPair(File file, boolean packDna) throws IOException {
+        return read(file, 2, packDna);
+    }
+
+    /*
+        Reads the first count lines, which must be non-empty; with a count of
+        0, every line up to the first empty one or the end, at least two
+     */
+    public static CharSequence[] read(File file, int count, boolean packDna) throws IOException {
+        MappedByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Input too large to map: " + file);
+            }
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        List<CharSequence> strings = new ArrayList<>();
+        int lineStart = 0;
+        while (count == 0 ? lineStart < bytes.limit() : strings.size() < count) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.limit() && bytes.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int nextLine = lineEnd + 1;
+            if (lineEnd > lineStart && bytes.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd == lineStart) {
+                if (count == 0) {
+                    break;
+                }
+                throw new IllegalArgumentException("First " + count + " lines must be non-empty strings");
+            }
+            CharSequence line = new ByteSequence(bytes, lineStart, lineEnd - lineStart);
+            if (packDna && PackedDnaSequence.isPackable(line)) {
+                line = new PackedDnaSequence(line);
+            }
+            strings.add(line);
+            lineStart = Math.min(nextLine, bytes.limit());
+        }
+        if (strings.size() < 2) {
+            throw new IllegalArgumentException("Input needs at least two non-empty lines");
+        }
+        return strings.toArray(new CharSequence[strings.size()]);
+    }
+
+}
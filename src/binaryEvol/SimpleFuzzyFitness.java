@@ -5,6 +5,7 @@ package binaryEvol;
  * @author neal
  * If a solution is feasible, uses cardinality of solution to determine fitness
  * Else uses fast fuzzy subsequence matching to help determine fitness
+ * Feasible solutions are never fuzzy matched.
  */
 public class SimpleFuzzyFitness implements FitnessFunction {
 
@@ -17,4 +18,9 @@ public class SimpleFuzzyFitness implements FitnessFunction {
         }
     }
 
+    @Override
+    public AssessmentTier requiredAssessment() {
+        return AssessmentTier.FUZZY;
+    }
+
 }
@@ -0,0 +1,59 @@
+package binaryEvol;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * Writes snapshots on a background thread, so evolution only pauses for the
+ * copy taken by snapshot(), not for the disk
+ *
+ * Writes happen one at a time, in the order given. The first failed write is
+ * reported by the next call to write or close.
+ *
+ */
+public class SnapshotWriter implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile IOException failure;
+
+    public void write(EvolutionSnapshot snapshot, File file) throws IOException {
+        throwFailure();
+        executor.execute(() -> {
+            try {
+                snapshot.writeTo(file);
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        });
+    }
+
+    //Waits for the writes still pending
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing a snapshot", e);
+        }
+        throwFailure();
+    }
+
+    private void throwFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("Snapshot write failed: " + failure.getMessage(), failure);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package binaryEvol;
+
+/**
+ *
+ * SplitMix64, the algorithm of java.util.SplittableRandom, with its state
+ * (a counter and an odd increment) kept where snapshots can save it
+ * Produces the same numbers as a SplittableRandom of the same seed.
+ *
+ */
+public class SplitMix64Random extends FastRandom {
+
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    //No initializers: set by seed(), which runs inside the super constructor
+    private long state;
+    private long gamma;
+
+    public SplitMix64Random(long seed) {
+        super(seed);
+    }
+
+    private SplitMix64Random(long state, long gamma) {
+        super(0);
+        this.state = state;
+        this.gamma = gamma;
+    }
+
+    @Override
+    protected void seed(long seed) {
+        this.state = seed;
+        this.gamma = GOLDEN_GAMMA;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(state += gamma);
+    }
+
+    //The child gets its own increment, so the two sequences do not line up
+    @Override
+    public FastRandom split() {
+        return new SplitMix64Random(nextLong(), mixGamma(state += gamma));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    //Odd, and with enough bit transitions to mix well
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return (transitions < 24) ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+
+}
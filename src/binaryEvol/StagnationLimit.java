@@ -0,0 +1,42 @@
+package binaryEvol;
+
+/**
+ *
+ * Stops a run once the best fitness on any island has not improved for a
+ * number of generations
+ * Remembers the generation of the last improvement, which a resumed run
+ * takes from its snapshot.
+ *
+ */
+public class StagnationLimit implements TerminationCriterion {
+
+    private final int stagnationGenerations;
+    private int lastImprovement;
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+
+    public StagnationLimit(int stagnationGenerations, int lastImprovement) {
+        this.stagnationGenerations = stagnationGenerations;
+        this.lastImprovement = lastImprovement;
+    }
+
+    @Override
+    public String check(Population[] islands) {
+        double best = Double.NEGATIVE_INFINITY;
+        for (Population island : islands) {
+            best = Math.max(best, island.getBestSolutionFitness());
+        }
+        //The first check only notes where the run starts
+        if (bestFitness == Double.NEGATIVE_INFINITY) {
+            bestFitness = best;
+        } else if (best > bestFitness) {
+            bestFitness = best;
+            lastImprovement = islands[0].getGeneration();
+        }
+        return islands[0].getGeneration() - lastImprovement >= stagnationGenerations ? "stagnation" : null;
+    }
+
+    public int getLastImprovement() {
+        return lastImprovement;
+    }
+
+}
@@ -0,0 +1,24 @@
+package binaryEvol;
+
+import java.io.PrintStream;
+
+/**
+ *
+ * Writes the GenerationStatistics of any number of runs to one stream, one
+ * line per generation, each labelled with its input and island
+ * Listeners from the same sink may be called from different threads.
+ *
+ */
+public interface StatisticsSink {
+
+    public abstract GenerationListener listener(String input, int island);
+
+    //CSV if the file name ends in .csv, JSON lines otherwise
+    public static StatisticsSink forFileName(String fileName, PrintStream out) {
+        if (fileName.toLowerCase().endsWith(".csv")) {
+            return new CsvStatisticsSink(out);
+        }
+        return new JsonLinesStatisticsSink(out);
+    }
+
+}
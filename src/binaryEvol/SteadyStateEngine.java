@@ -0,0 +1,156 @@
+package binaryEvol;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * Steady-state evolution of a Population, without a barrier between phases
+ * Each of the population's worker threads repeatedly picks two parents by
+ * tournament, crosses over and mutates copies of them, evaluates the
+ * offspring and puts each in place of the loser of another tournament, if it
+ * is at least as fit. Offspring are evaluated outside any lock: a slot is
+ * locked only while it is read or overwritten, under one of a fixed set of
+ * striped locks, so no worker waits on another's evaluation.
+ *
+ * When the population repairs, every solution is repaired before the first
+ * generation after repair is switched on, so no unrepaired solution is left
+ * to outscore repaired offspring.
+ *
+ * A generation is as many offspring as the population has solutions, after
+ * which the workers stop, so generations can still be counted, reported,
+ * checkpointed and checked for termination. Tournaments of tournamentSize draw
+ * with replacement. With one thread, a run is reproducible from its seed; with
+ * more, offspring land in an order that depends on scheduling.
+ *
+ */
+public class SteadyStateEngine {
+
+    //Slot i is guarded by locks[i % STRIPES]
+    private static final int STRIPES = 64;
+
+    private final Population population;
+    private final Object[] locks = new Object[STRIPES];
+    //Two offspring per worker, reused every generation
+    private BinarySolution[][] offspring = new BinarySolution[0][];
+    //Whether every solution has been repaired since repair was switched on
+    private boolean populationRepaired = false;
+
+    public SteadyStateEngine(Population population) {
+        this.population = population;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    //Breeds one generation's worth of offspring into the population
+    public void runGeneration(int tournamentSize, double crossoverRate, int crossoverPoints,
+            double mutationRate, int mutationMaxLength) {
+        population.startGeneration();
+        if (!population.isRepairing()) {
+            populationRepaired = false;
+        } else if (!populationRepaired) {
+            population.repairAll();
+            populationRepaired = true;
+        }
+        population.evaluateAll(); //Tournaments then only read cached fitness
+
+        int threads = population.getThreads();
+        if (offspring.length != threads) {
+            int length = population.getShortString().length();
+            offspring = new BinarySolution[threads][];
+            for (int w = 0; w < threads; w++) {
+                offspring[w] = new BinarySolution[]{
+                    new BinarySolution(length, population), new BinarySolution(length, population)};
+            }
+        }
+        Random[] streams = population.randomStreams(threads);
+        //Selection, crossover, mutation, repair and evaluation time of each worker
+        long[][] nanos = new long[threads][5];
+        AtomicInteger remaining = new AtomicInteger(population.size());
+
+        population.forEachWorker(w -> {
+            Random random = streams[w];
+            BinarySolution a = offspring[w][0];
+            BinarySolution b = offspring[w][1];
+            long[] phases = nanos[w];
+            while (remaining.getAndAdd(-2) > 0) {
+                long start = System.nanoTime();
+                copySolution(tournament(random, tournamentSize, true), a);
+                copySolution(tournament(random, tournamentSize, true), b);
+                long selected = System.nanoTime();
+                if (random.nextDouble() < crossoverRate) {
+                    Population.nPointCrossover(a, b, crossoverPoints, random);
+                }
+                long crossed = System.nanoTime();
+                Population.variableLengthMutation(a, random, mutationRate, mutationMaxLength);
+                Population.variableLengthMutation(b, random, mutationRate, mutationMaxLength);
+                long mutated = System.nanoTime();
+                if (population.isRepairing()) {
+                    a.repair();
+                    b.repair();
+                }
+                long repaired = System.nanoTime();
+                offer(a, population.evaluate(a), tournament(random, tournamentSize, false));
+                offer(b, population.evaluate(b), tournament(random, tournamentSize, false));
+                long evaluated = System.nanoTime();
+                phases[0] += selected - start;
+                phases[1] += crossed - selected;
+                phases[2] += mutated - crossed;
+                phases[3] += repaired - mutated;
+                phases[4] += evaluated - repaired;
+            }
+        });
+
+        //Summed over the workers, so they may add up to more than the elapsed time
+        long[] total = new long[5];
+        for (long[] phases : nanos) {
+            for (int p = 0; p < total.length; p++) {
+                total[p] += phases[p];
+            }
+        }
+        population.completeGeneration(total[0], total[1], total[2], total[3], total[4]);
+    }
+
+    //Index of the fittest (or least fit) of size solutions drawn at random
+    private int tournament(Random random, int size, boolean fittest) {
+        int n = population.size();
+        int chosen = random.nextInt(n);
+        double chosenFitness = fitnessAt(chosen);
+        for (int i = 1; i < size; i++) {
+            int combatant = random.nextInt(n);
+            double combatantFitness = fitnessAt(combatant);
+            if (fittest ? combatantFitness > chosenFitness : combatantFitness < chosenFitness) {
+                chosen = combatant;
+                chosenFitness = combatantFitness;
+            }
+        }
+        return chosen;
+    }
+
+    private Object lock(int index) {
+        return locks[index % STRIPES];
+    }
+
+    private double fitnessAt(int index) {
+        synchronized (lock(index)) {
+            return population.fitnessAt(index);
+        }
+    }
+
+    private void copySolution(int from, BinarySolution target) {
+        synchronized (lock(from)) {
+            population.copySolutionTo(from, target);
+        }
+    }
+
+    //The slot may have changed since its tournament, so it is compared again under its lock
+    private void offer(BinarySolution child, double childFitness, int slot) {
+        synchronized (lock(slot)) {
+            if (childFitness >= population.fitnessAt(slot)) {
+                population.replaceSolution(slot, child, childFitness);
+            }
+        }
+    }
+
+}
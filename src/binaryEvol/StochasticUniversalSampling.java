@@ -0,0 +1,47 @@
+package binaryEvol;
+
+/**
+ *
+ * Fitness-proportionate selection of a whole new population with one random
+ * number: n equally spaced pointers over the cumulative fitness, so each
+ * solution is copied within one of its expected number of times
+ *
+ * Fitness can be negative under fuzzy matching, so the weights are fitness
+ * minus the lowest fitness; if every solution is equally fit, all are kept.
+ *
+ */
+public class StochasticUniversalSampling implements SelectionStrategy {
+
+    @Override
+    public void selectParents(Population population) {
+        population.evaluateAll();
+        int n = population.size();
+        double lowest = Double.POSITIVE_INFINITY;
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            lowest = Math.min(lowest, population.fitnessAt(i));
+        }
+        for (int i = 0; i < n; i++) {
+            total += population.fitnessAt(i) - lowest;
+        }
+        if (!(total > 0)) {
+            return;
+        }
+
+        double spacing = total / n;
+        double pointer = population.getRandom().nextDouble() * spacing;
+        int[] sources = population.copySources();
+        double cumulative = population.fitnessAt(0) - lowest;
+        int solution = 0;
+        for (int i = 0; i < n; i++) {
+            while (cumulative <= pointer && solution < n - 1) {
+                solution++;
+                cumulative += population.fitnessAt(solution) - lowest;
+            }
+            sources[i] = solution;
+            pointer += spacing;
+        }
+        population.replaceWithCopies(sources);
+    }
+
+}
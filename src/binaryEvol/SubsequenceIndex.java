@@ -0,0 +1,232 @@
+package binaryEvol;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Next-occurrence index over a string, built once and shared by every solution
+ * Answers "where is the next occurrence of symbol c at or after position p",
+ * which turns a subsequence check into one jump per matched character
+ *
+ * Each distinct character is given a dense code, and the string itself is
+ * kept as those codes in PackedCodes (two bits a base for DNA), so matching
+ * loops read a long[] instead of the original sequence. Several indexes can
+ * share one set of codes, so that a string encoded once is valid in each.
+ *
+ * Next occurrences come from whichever structure fits: a full table for small
+ * strings; per-symbol occurrence bitmaps, scanned a word at a time with a
+ * summary bit per nonempty word, for small alphabets; otherwise per-symbol
+ * position lists searched with binary search.
+ *
+ */
+public class SubsequenceIndex {
+
+    //Above this many entries the full table is replaced by bitmaps or position lists
+    private static final long MAX_TABLE_ENTRIES = 1L << 24;
+    //Bitmaps take alphabetSize bits a character; up to here that beats an int per character
+    private static final int MAX_BITMAP_ALPHABET = 32;
+
+    private final int length;
+    private final int alphabetSize;
+    //Dense code for each char value that occurs in the string (or, if shared,
+    //in any of the strings it was made for), -1 otherwise
+    private final int[] symbolCodes;
+
+    //The string as codes
+    private final PackedCodes codes;
+
+    //Either a table of (length + 1) rows of alphabetSize next positions...
+    private final int[] nextTable;
+    //...or a bitmap of each symbol's positions, with one summary bit per nonempty bitmap word...
+    private final long[][] occurrences;
+    private final long[][] occupiedWords;
+    //...or the sorted positions of each symbol, searched with binary search
+    private final int[][] positions;
+
+    public SubsequenceIndex(CharSequence string) {
+        this(string, symbolCodes(string));
+    }
+
+    /*
+        Indexes string in the given codes, which must cover each of its
+        characters; codes shared by several strings let one encoding of a
+        string stand for all of their indexes.
+     */
+    SubsequenceIndex(CharSequence string, int[] symbolCodes) {
+        this.length = string.length();
+        this.symbolCodes = symbolCodes;
+        int symbols = 0;
+        for (int code : symbolCodes) {
+            symbols = Math.max(symbols, code + 1);
+        }
+        this.alphabetSize = symbols;
+
+        int[] counts = new int[alphabetSize];
+        this.codes = new PackedCodes(alphabetSize, length);
+        for (int p = 0; p < length; p++) {
+            int code = code(string.charAt(p));
+            if (code < 0) {
+                throw new IllegalArgumentException("No code for character " + (int) string.charAt(p)
+                        + " at position " + p);
+            }
+            codes.set(p, code);
+            counts[code]++;
+        }
+
+        if ((long) (length + 1) * alphabetSize <= MAX_TABLE_ENTRIES) {
+            //Built back to front: each row is the row after it, updated with its own symbol
+            nextTable = new int[(length + 1) * alphabetSize];
+            Arrays.fill(nextTable, length * alphabetSize, nextTable.length, length);
+            for (int p = length - 1; p >= 0; p--) {
+                System.arraycopy(nextTable, (p + 1) * alphabetSize, nextTable, p * alphabetSize, alphabetSize);
+                nextTable[p * alphabetSize + codeAt(p)] = p;
+            }
+            occurrences = null;
+            occupiedWords = null;
+            positions = null;
+        } else if (alphabetSize <= MAX_BITMAP_ALPHABET) {
+            int words = (length + 63) >>> 6;
+            occurrences = new long[alphabetSize][words];
+            occupiedWords = new long[alphabetSize][(words + 63) >>> 6];
+            for (int p = 0; p < length; p++) {
+                occurrences[codeAt(p)][p >>> 6] |= 1L << p;
+            }
+            for (int c = 0; c < alphabetSize; c++) {
+                for (int w = 0; w < words; w++) {
+                    if (occurrences[c][w] != 0) {
+                        occupiedWords[c][w >>> 6] |= 1L << w;
+                    }
+                }
+            }
+            nextTable = null;
+            positions = null;
+        } else {
+            positions = new int[alphabetSize][];
+            for (int c = 0; c < alphabetSize; c++) {
+                positions[c] = new int[counts[c]];
+            }
+            int[] filled = new int[alphabetSize];
+            for (int p = 0; p < length; p++) {
+                int code = codeAt(p);
+                positions[code][filled[code]++] = p;
+            }
+            nextTable = null;
+            occurrences = null;
+            occupiedWords = null;
+        }
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int getAlphabetSize() {
+        return alphabetSize;
+    }
+
+    //Returns the code of c, or -1 if c never occurs in the string
+    public int code(char c) {
+        return c < symbolCodes.length ? symbolCodes[c] : -1;
+    }
+
+    //Codes for each char of s, -1 for chars that never occur in the indexed string
+    public int[] encode(CharSequence s) {
+        int[] codes = new int[s.length()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = code(s.charAt(i));
+        }
+        return codes;
+    }
+
+    //s in the index's codes; every char of s must have one
+    public PackedCodes encodePacked(CharSequence s) {
+        PackedCodes packed = new PackedCodes(alphabetSize, s.length());
+        for (int i = 0; i < s.length(); i++) {
+            int code = code(s.charAt(i));
+            if (code < 0) {
+                throw new IllegalArgumentException("No code for character " + (int) s.charAt(i)
+                        + " at position " + i);
+            }
+            packed.set(i, code);
+        }
+        return packed;
+    }
+
+    //Code of the character at position in the indexed string
+    public int codeAt(int position) {
+        return codes.get(position);
+    }
+
+    /*
+        Dense codes for every char value in the strings, in order of first
+        occurrence, -1 for the rest; the same char gets the same code in all
+     */
+    static int[] symbolCodes(CharSequence... strings) {
+        int maxChar = 0;
+        for (CharSequence string : strings) {
+            for (int i = 0; i < string.length(); i++) {
+                maxChar = Math.max(maxChar, string.charAt(i));
+            }
+        }
+        int[] symbolCodes = new int[maxChar + 1];
+        Arrays.fill(symbolCodes, -1);
+        int symbols = 0;
+        for (CharSequence string : strings) {
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (symbolCodes[c] < 0) {
+                    symbolCodes[c] = symbols++;
+                }
+            }
+        }
+        return symbolCodes;
+    }
+
+    /*
+        Returns the first position at or after position holding the symbol
+        with the given code, or length() if there is none.
+        position may be anything from 0 to length() inclusive.
+     */
+    public int next(int position, int code) {
+        if (nextTable != null) {
+            return nextTable[position * alphabetSize + code];
+        }
+        if (occurrences != null) {
+            return nextInBitmap(position, code);
+        }
+        int[] symbolPositions = positions[code];
+        int found = Arrays.binarySearch(symbolPositions, position);
+        if (found < 0) {
+            found = -found - 1;
+        }
+        return found < symbolPositions.length ? symbolPositions[found] : length;
+    }
+
+    //The rest of position's word first, then the summary finds the next word holding the symbol
+    private int nextInBitmap(int position, int code) {
+        long[] bitmap = occurrences[code];
+        int w = position >>> 6;
+        if (w >= bitmap.length) {
+            return length;
+        }
+        long word = bitmap[w] & (-1L << position);
+        if (word != 0) {
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+        long[] summary = occupiedWords[code];
+        int s = (w + 1) >>> 6;
+        if (s >= summary.length) {
+            return length;
+        }
+        long occupied = summary[s] & (-1L << (w + 1));
+        while (occupied == 0) {
+            if (++s == summary.length) {
+                return length;
+            }
+            occupied = summary[s];
+        }
+        int next = (s << 6) + Long.numberOfTrailingZeros(occupied);
+        return (next << 6) + Long.numberOfTrailingZeros(bitmap[next]);
+    }
+
+}
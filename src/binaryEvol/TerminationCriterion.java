@@ -0,0 +1,18 @@
+package binaryEvol;
+
+/**
+ *
+ * Decides when a run has gone on long enough
+ * Asked before the first generation and after every one, with the run's
+ * islands (a single population is one island); a run stops at the first
+ * criterion to give a reason, which is reported as the run's stopReason.
+ *
+ * Criteria may keep state between checks, so each serves a single run.
+ *
+ */
+public interface TerminationCriterion {
+
+    //Why the run should stop now, or null to carry on
+    public abstract String check(Population[] islands);
+
+}
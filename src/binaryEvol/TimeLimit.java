@@ -0,0 +1,22 @@
+package binaryEvol;
+
+/**
+ *
+ * Stops a run once a System.nanoTime() deadline has passed
+ * A generation already under way is finished first.
+ *
+ */
+public class TimeLimit implements TerminationCriterion {
+
+    private final long deadline;
+
+    public TimeLimit(long deadline) {
+        this.deadline = deadline;
+    }
+
+    @Override
+    public String check(Population[] islands) {
+        return System.nanoTime() - deadline >= 0 ? "time" : null;
+    }
+
+}
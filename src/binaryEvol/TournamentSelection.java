@@ -0,0 +1,43 @@
+package binaryEvol;
+
+/**
+ *
+ * Kill/Clone: each tournament draws tournamentSize distinct solutions, and the
+ * worst of them is overwritten with a copy of the best
+ *
+ */
+public class TournamentSelection implements SelectionStrategy {
+
+    private final int numberOfTournaments;
+    private final int tournamentSize;
+
+    public TournamentSelection(int numberOfTournaments, int tournamentSize) {
+        this.numberOfTournaments = numberOfTournaments;
+        this.tournamentSize = tournamentSize;
+    }
+
+    @Override
+    public void selectParents(Population population) {
+        for (int t = 0; t < numberOfTournaments; t++) {
+            //Only the combatants are evaluated
+            int[] pool = population.sampleIndices(tournamentSize);
+            int worstSolution = -1;
+            double lowestFitness = Double.POSITIVE_INFINITY;
+            int bestSolution = -1;
+            double highestFitness = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < tournamentSize; i++) {
+                double combatantFitness = population.fitnessAt(pool[i]);
+                if (combatantFitness < lowestFitness) {
+                    lowestFitness = combatantFitness;
+                    worstSolution = pool[i];
+                }
+                if (combatantFitness > highestFitness) {
+                    highestFitness = combatantFitness;
+                    bestSolution = pool[i];
+                }
+            }
+            population.copySolution(bestSolution, worstSolution);
+        }
+    }
+
+}
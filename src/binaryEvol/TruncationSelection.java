@@ -0,0 +1,33 @@
+package binaryEvol;
+
+/**
+ *
+ * Only the fittest fraction of the population becomes parents, each copied
+ * equally often to refill the population
+ *
+ */
+public class TruncationSelection implements SelectionStrategy {
+
+    private final double fraction;
+
+    //fraction in (0, 1]; at least one solution is always kept
+    public TruncationSelection(double fraction) {
+        if (!(fraction > 0.0 && fraction <= 1.0)) {
+            throw new IllegalArgumentException("fraction must be in (0, 1]: " + fraction);
+        }
+        this.fraction = fraction;
+    }
+
+    @Override
+    public void selectParents(Population population) {
+        int[] ranking = population.rankByFitness();
+        int n = ranking.length;
+        int kept = Math.max(1, (int) (n * fraction));
+        int[] sources = population.copySources();
+        for (int i = 0; i < n; i++) {
+            sources[i] = ranking[n - 1 - (i % kept)];
+        }
+        population.replaceWithCopies(sources);
+    }
+
+}
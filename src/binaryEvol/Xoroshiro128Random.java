@@ -0,0 +1,78 @@
+package binaryEvol;
+
+/**
+ *
+ * xoroshiro128++ (Blackman and Vigna): 128 bits of state, period 2^128 - 1
+ * Seeded by expanding the seed with SplitMix64, as its authors recommend.
+ *
+ * split() is a jump: the child carries on from the current state, and this
+ * generator skips 2^64 numbers ahead, so successive children draw from
+ * non-overlapping stretches of one sequence.
+ *
+ */
+public class Xoroshiro128Random extends FastRandom {
+
+    private static final long serialVersionUID = 1L;
+    //Jump polynomial for 2^64 steps
+    private static final long[] JUMP = {0x2BD7A6A6E99C2DDCL, 0x0992CCAF6A6FCA05L};
+
+    //No initializers: set by seed(), which runs inside the super constructor
+    private long s0;
+    private long s1;
+
+    public Xoroshiro128Random(long seed) {
+        super(seed);
+    }
+
+    private Xoroshiro128Random(long s0, long s1) {
+        super(0);
+        this.s0 = s0;
+        this.s1 = s1;
+    }
+
+    @Override
+    protected void seed(long seed) {
+        SplitMix64Random expander = new SplitMix64Random(seed);
+        this.s0 = expander.nextLong();
+        this.s1 = expander.nextLong();
+        if ((s0 | s1) == 0) {
+            s0 = 1; //The all-zero state never leaves zero
+        }
+    }
+
+    @Override
+    public long nextLong() {
+        long a = s0;
+        long b = s1;
+        long result = Long.rotateLeft(a + b, 17) + a;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+        s1 = Long.rotateLeft(b, 28);
+        return result;
+    }
+
+    @Override
+    public FastRandom split() {
+        FastRandom child = new Xoroshiro128Random(s0, s1);
+        this.jump();
+        return child;
+    }
+
+    //Advances the state by 2^64 numbers
+    public void jump() {
+        long t0 = 0;
+        long t1 = 0;
+        for (long polynomial : JUMP) {
+            for (int b = 0; b < 64; b++) {
+                if ((polynomial & (1L << b)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                }
+                nextLong();
+            }
+        }
+        this.s0 = t0;
+        this.s1 = t1;
+    }
+
+}
@@ -0,0 +1,156 @@
+package binaryEvol;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * Incremental fuzzy assessment (see FuzzyMatchCheckpoints) against a full
+ * rescan of the same bits
+ *
+ */
+public class BinarySolutionTest {
+
+    private static final String DNA = "ACGT";
+
+    private static String randomString(Random random, int length) {
+        StringBuilder s = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            s.append(DNA.charAt(random.nextInt(DNA.length())));
+        }
+        return s.toString();
+    }
+
+    //source with a fraction of its characters substituted, deleted or followed by an insertion
+    private static String mutate(Random random, String source, double rate) {
+        StringBuilder s = new StringBuilder(source.length() * 2);
+        for (int i = 0; i < source.length(); i++) {
+            double r = random.nextDouble();
+            if (r < rate / 3) {
+                s.append(DNA.charAt(random.nextInt(DNA.length())));
+            } else if (r < 2 * rate / 3) {
+                continue;
+            } else if (r < rate) {
+                s.append(source.charAt(i)).append(DNA.charAt(random.nextInt(DNA.length())));
+            } else {
+                s.append(source.charAt(i));
+            }
+        }
+        return s.toString();
+    }
+
+    private static Population population(String[] strings, boolean incremental) {
+        Population population = new Population(strings, 1, 0, 1L,
+                new RandomInitializer(), RandomAlgorithm.forName("splitmix"));
+        population.setIncrementalAssessment(incremental);
+        return population;
+    }
+
+    //solution's assessment must be exactly that of the same bits assessed from scratch
+    private static void assertSameAsFullRescan(String message, BinarySolution solution, Population full) {
+        BinarySolution rescanned = new BinarySolution(solution.length(), full);
+        for (int i = 0; i < solution.length(); i++) {
+            rescanned.set(i, solution.get(i));
+        }
+        assertEquals(message, rescanned.isFeasible(), solution.isFeasible());
+        assertEquals(message, rescanned.getMatches(), solution.getMatches());
+        assertEquals(message, rescanned.getSolutionSkips(), solution.getSolutionSkips());
+        assertEquals(message, rescanned.getLongStringSkips(), solution.getLongStringSkips());
+    }
+
+    //Short flips between assessments, with some tiers asked for out of turn
+    @Test
+    public void incrementalAssessmentMatchesFullRescanAfterLocalChanges() {
+        Random random = new Random(4);
+        for (int t = 0; t < 40; t++) {
+            String[] strings = new String[2 + random.nextInt(3)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = randomString(random, 600 + random.nextInt(2000));
+            }
+            Population incremental = population(strings, true);
+            Population full = population(strings, false);
+            int length = incremental.getShortString().length();
+            BinarySolution solution = new BinarySolution(length, incremental);
+            for (int i = 0; i < length; i++) {
+                solution.set(i, random.nextDouble() < 0.4);
+            }
+            for (int step = 0; step < 60; step++) {
+                int start = random.nextInt(length);
+                solution.flip(start, Math.min(length, start + 1 + random.nextInt(8)));
+                switch (random.nextInt(4)) {
+                    case 0:
+                        solution.assess(AssessmentTier.FEASIBILITY);
+                        break;
+                    case 1:
+                        solution.cardinality();
+                        break;
+                    case 2:
+                        continue; //Changes pile up until the next full assessment
+                    default:
+                        break;
+                }
+                assertSameAsFullRescan("trial " + t + " step " + step, solution, full);
+            }
+        }
+    }
+
+    //Near-feasible solutions over related strings, changed by the population's own operators
+    @Test
+    public void incrementalAssessmentMatchesFullRescanAfterVariation() {
+        Random random = new Random(8);
+        for (int t = 0; t < 20; t++) {
+            String base = randomString(random, 1500 + random.nextInt(1500));
+            String[] strings = new String[2 + random.nextInt(2)];
+            strings[0] = mutate(random, base, 0.05);
+            for (int i = 1; i < strings.length; i++) {
+                strings[i] = base + randomString(random, 200) + mutate(random, base, 0.05);
+            }
+            Population incremental = population(strings, true);
+            Population full = population(strings, false);
+            int length = incremental.getShortString().length();
+            BinarySolution a = new BinarySolution(length, incremental);
+            BinarySolution b = new BinarySolution(length, incremental);
+            for (int i = 0; i < length; i++) {
+                a.set(i, random.nextDouble() < 0.9);
+                b.set(i, random.nextDouble() < 0.9);
+            }
+            a.updateAssessment();
+            b.updateAssessment();
+            for (int step = 0; step < 30; step++) {
+                if (random.nextBoolean()) {
+                    Population.nPointCrossover(a, b, 1 + random.nextInt(3), random);
+                }
+                Population.variableLengthMutation(a, random, 0.002, 20);
+                Population.variableLengthMutation(b, random, 0.002, 20);
+                assertSameAsFullRescan("trial " + t + " step " + step + " a", a, full);
+                assertSameAsFullRescan("trial " + t + " step " + step + " b", b, full);
+            }
+        }
+    }
+
+    //A copy carries its assessment and checkpoints, and goes on rescoring incrementally
+    @Test
+    public void copiesRescoreLikeTheirOriginal() {
+        Random random = new Random(15);
+        String[] strings = {randomString(random, 2000), randomString(random, 2600)};
+        Population incremental = population(strings, true);
+        Population full = population(strings, false);
+        int length = incremental.getShortString().length();
+        BinarySolution original = new BinarySolution(length, incremental);
+        for (int i = 0; i < length; i++) {
+            original.set(i, random.nextDouble() < 0.5);
+        }
+        original.updateAssessment();
+        for (int step = 0; step < 40; step++) {
+            BinarySolution copy = original.deepClone();
+            assertEquals(original.getMatches(), copy.getMatches());
+            int start = random.nextInt(length);
+            copy.flip(start, Math.min(length, start + 1 + random.nextInt(16)));
+            assertSameAsFullRescan("step " + step, copy, full);
+            original.copyFrom(copy);
+            assertSameAsFullRescan("step " + step + " copied back", original, full);
+        }
+    }
+
+}
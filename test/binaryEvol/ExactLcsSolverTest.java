@@ -0,0 +1,97 @@
+package binaryEvol;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * ExactLcsSolver against a plain dynamic programming table
+ *
+ */
+public class ExactLcsSolverTest {
+
+    //Textbook O(n*m) LCS length
+    private static int dynamicProgrammingLcs(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                current[j] = (a.charAt(i - 1) == b.charAt(j - 1)) ? previous[j - 1] + 1
+                        : Math.max(previous[j], current[j - 1]);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static String randomString(Random random, int length, String alphabet) {
+        StringBuilder s = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            s.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return s.toString();
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder s = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            s.append(c);
+        }
+        return s.toString();
+    }
+
+    private static void assertSolves(String a, String b) {
+        Population population = new Population(a, b, 0, 0, 1L);
+        ExactLcsSolver solver = new ExactLcsSolver(population);
+        int expected = dynamicProgrammingLcs(a, b);
+        assertEquals(a + " / " + b, expected, solver.lcsLength());
+        BinarySolution solution = solver.solve();
+        assertTrue(solution.isFeasible());
+        assertEquals(expected, solution.cardinality());
+    }
+
+    @Test
+    public void matchesDynamicProgrammingOnSmallInputs() {
+        Random random = new Random(11);
+        for (int t = 0; t < 500; t++) {
+            String alphabet = "ACGTXYZW".substring(0, 1 + random.nextInt(8));
+            assertSolves(randomString(random, 1 + random.nextInt(40), alphabet),
+                    randomString(random, 1 + random.nextInt(60), alphabet));
+        }
+    }
+
+    //Large enough that Hirschberg splits several times before the table takes over
+    @Test
+    public void matchesDynamicProgrammingAcrossWordsAndSplits() {
+        Random random = new Random(12);
+        for (int t = 0; t < 20; t++) {
+            String alphabet = (t % 2 == 0) ? "ACGT" : "abcdefghijklmnopqrstuvwxyz";
+            assertSolves(randomString(random, 200 + random.nextInt(400), alphabet),
+                    randomString(random, 300 + random.nextInt(800), alphabet));
+        }
+    }
+
+    @Test
+    public void handlesCharactersMissingFromTheLongString() {
+        assertSolves("QQAQCQ", "ACGTACGT");
+        assertSolves("QQQQ", "ACGT");
+    }
+
+    //A one-character longString half used to recurse on itself until the stack overflowed
+    @Test
+    public void solvesSingleCharacterSubproblemsAboveTheTableSize() {
+        String shortString = repeat('A', 40000);
+        String longString = repeat('C', 39999) + "A";
+        Population population = new Population(shortString, longString, 0, 0, 1L);
+        ExactLcsSolver solver = new ExactLcsSolver(population);
+        assertEquals(1, solver.lcsLength());
+        BinarySolution solution = solver.solve();
+        assertTrue(solution.isFeasible());
+        assertEquals(1, solution.cardinality());
+    }
+
+}
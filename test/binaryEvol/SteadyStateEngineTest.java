@@ -0,0 +1,39 @@
+package binaryEvol;
+
+import java.util.Random;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * Steady-state evolution with repair and a cardinality objective
+ *
+ */
+public class SteadyStateEngineTest {
+
+    private static String randomString(Random random, int length) {
+        StringBuilder s = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            s.append((char) ('A' + random.nextInt(20)));
+        }
+        return s.toString();
+    }
+
+    //Random solutions select about half the shortString, far more than any feasible one
+    @Test
+    public void repairsTheInitialPopulationBeforeBreeding() {
+        Random random = new Random(9);
+        Population population = new Population(randomString(random, 600), randomString(random, 800), 30, 0, 5L);
+        population.setRepairing(true);
+        population.setFitnessFunction(new CardinalityFitness());
+        population.setSteadyState(true);
+        for (int g = 0; g < 3; g++) {
+            population.runOneGeneration(0, 4, 0.8, 4, 0.01, 5);
+        }
+        for (BinarySolution solution : population.getPopulation()) {
+            assertTrue(solution.isFeasible());
+        }
+        assertTrue(population.getBestSolution().isFeasible());
+    }
+
+}
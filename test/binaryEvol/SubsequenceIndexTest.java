@@ -0,0 +1,126 @@
+package binaryEvol;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * SubsequenceIndex against brute force, on each of its next-occurrence
+ * structures: the full table, symbol bitmaps and position lists
+ *
+ */
+public class SubsequenceIndexTest {
+
+    //Random string over alphabet symbols from '!'; with probability skew, the first symbol instead
+    private static String randomString(Random random, int length, int alphabet, double skew) {
+        char[] s = new char[length];
+        for (int i = 0; i < length; i++) {
+            s[i] = (char) ('!' + (random.nextDouble() < skew ? 0 : random.nextInt(alphabet)));
+        }
+        return new String(s);
+    }
+
+    /*
+        Checks codes and next occurrences, brute force from the end of the
+        string, at every position up to every step-th once the string is long
+     */
+    private static void assertMatchesBruteForce(SubsequenceIndex index, String string, int step) {
+        int n = string.length();
+        int alphabet = index.getAlphabetSize();
+        assertEquals(n, index.length());
+        for (int p = 0; p < n; p++) {
+            assertEquals(index.code(string.charAt(p)), index.codeAt(p));
+        }
+        int[] next = new int[alphabet];
+        Arrays.fill(next, n);
+        for (int p = n; p >= 0; p--) {
+            if (p < n) {
+                next[index.codeAt(p)] = p;
+            }
+            if (p % step == 0 || p < 300 || p > n - 300) {
+                for (int c = 0; c < alphabet; c++) {
+                    assertEquals("position " + p + " code " + c, next[c], index.next(p, c));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void tableMatchesBruteForce() {
+        Random random = new Random(1);
+        for (int alphabet : new int[]{1, 2, 4, 20, 300}) {
+            String s = randomString(random, 1000 + random.nextInt(1000), alphabet, 0);
+            assertMatchesBruteForce(new SubsequenceIndex(s), s, 1);
+        }
+        assertMatchesBruteForce(new SubsequenceIndex(""), "", 1);
+    }
+
+    //Over 1 << 24 table entries with at most 32 symbols
+    @Test
+    public void bitmapsMatchBruteForce() {
+        Random random = new Random(2);
+        String dna = randomString(random, 5_000_000, 4, 0);
+        assertMatchesBruteForce(new SubsequenceIndex(dna), dna, 97);
+        //Long runs of one symbol leave most bitmap words empty for the others
+        String sparse = randomString(random, 5_000_000, 2, 0.99999);
+        assertMatchesBruteForce(new SubsequenceIndex(sparse), sparse, 97);
+        String skewed = randomString(random, 1_000_000, 20, 0.99);
+        assertMatchesBruteForce(new SubsequenceIndex(skewed), skewed, 31);
+    }
+
+    //Over 1 << 24 table entries with more than 32 symbols
+    @Test
+    public void positionListsMatchBruteForce() {
+        Random random = new Random(3);
+        String text = randomString(random, 1_000_000, 40, 0);
+        assertMatchesBruteForce(new SubsequenceIndex(text), text, 31);
+        String skewed = randomString(random, 200_000, 200, 0.5);
+        assertMatchesBruteForce(new SubsequenceIndex(skewed), skewed, 7);
+    }
+
+    //Codes shared with another string include symbols this string never holds
+    @Test
+    public void sharedCodesMatchBruteForce() {
+        Random random = new Random(4);
+        //With 30 symbols long strings get bitmaps, with 60 position lists
+        for (int shared : new int[]{30, 60}) {
+            //Every symbol, last first, then more at random
+            StringBuilder other = new StringBuilder();
+            for (int c = shared - 1; c >= 0; c--) {
+                other.append((char) ('!' + c));
+            }
+            other.append(randomString(random, 100, shared, 0));
+            for (int length : new int[]{2000, 1_000_000}) {
+                String s = randomString(random, length, 4, 0);
+                SubsequenceIndex index = new SubsequenceIndex(s, SubsequenceIndex.symbolCodes(other, s));
+                assertEquals(shared, index.getAlphabetSize());
+                assertMatchesBruteForce(index, s, 31);
+                PackedCodes encoded = index.encodePacked(other);
+                for (int i = 0; i < other.length(); i++) {
+                    assertEquals(index.code(other.charAt(i)), encoded.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void packedCodesRoundTripAtEveryWidth() {
+        Random random = new Random(5);
+        for (int alphabet : new int[]{1, 2, 3, 4, 5, 16, 17, 256, 257, 65536}) {
+            int[] codes = new int[1000];
+            PackedCodes packed = new PackedCodes(alphabet, codes.length);
+            for (int round = 0; round < 2; round++) {
+                for (int i = 0; i < codes.length; i++) {
+                    codes[i] = random.nextInt(alphabet);
+                    packed.set(i, codes[i]);
+                }
+                for (int i = 0; i < codes.length; i++) {
+                    assertEquals("alphabet " + alphabet + " position " + i, codes[i], packed.get(i));
+                }
+            }
+        }
+    }
+
+}